@@ -0,0 +1,52 @@
+package rasos;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static rasos.Config.ID_A;
+import static rasos.Config.ID_B;
+
+/**
+ * Each operation resolves one attack phase and then its inverse, which leaves the board unchanged between operations.
+ * Move lists are capped by what the board can hold, so small boards with many moves measure the capped count.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttackerBenchmark {
+
+    @Param({"5", "50", "200", "1000"})
+    private int dim;
+
+    @Param({"2", "64", "1024"})
+    private int movesPerPlayer;
+
+    private Board board;
+    private Attacker attacker;
+    private List<AttackMove> movesA;
+    private List<AttackMove> movesB;
+    private List<AttackMove> inverseA;
+    private List<AttackMove> inverseB;
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkBoards.splitBoard(dim);
+        attacker = new Attacker(new SilentRiskLogger());
+        movesA = BenchmarkBoards.inwardMoves(board, ID_A, movesPerPlayer);
+        movesB = BenchmarkBoards.inwardMoves(board, ID_B, movesPerPlayer);
+        inverseA = BenchmarkBoards.inverse(movesA);
+        inverseB = BenchmarkBoards.inverse(movesB);
+    }
+
+    @Benchmark
+    public Board applyAndRevert() {
+        attacker.apply(board, movesA, movesB, ID_A, ID_B);
+        attacker.apply(board, inverseA, inverseB, ID_A, ID_B);
+        return board;
+    }
+}
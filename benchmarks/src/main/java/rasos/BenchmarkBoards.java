@@ -0,0 +1,64 @@
+package rasos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static rasos.Config.ID_A;
+import static rasos.Config.ID_B;
+
+/**
+ * Board fixtures shared by the benchmarks: player A controls the left half of the board and player B the right half,
+ * every controlled cell holding {@link #SOLDIERS_PER_CELL} soldiers.
+ */
+class BenchmarkBoards {
+    static final int SOLDIERS_PER_CELL = 10;
+
+    static Board splitBoard(int dim) {
+        Board board = new Board(dim);
+        for (int col = 1; col <= dim; col++) {
+            for (int row = 1; row <= dim; row++) {
+                board.cellAt(col, row).setValues(col <= (dim + 1) / 2 ? ID_A : ID_B, SOLDIERS_PER_CELL);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Moves half of the soldiers of up to {@code count} of the player's cells one row down, from even rows only so
+     * that no cell is both an origin and a destination. Applying {@link #inverse(List)} afterwards restores the board.
+     */
+    static List<AttackMove> inwardMoves(Board board, int playerId, int count) {
+        List<AttackMove> moves = new ArrayList<>(count);
+        for (int index = board.nextControlledCell(playerId, 0);
+             index >= 0 && moves.size() < count;
+             index = board.nextControlledCell(playerId, index + 1)) {
+            int col = board.colOf(index);
+            int row = board.rowOf(index);
+            if (row % 2 == 0 && row < board.getDim()) {
+                moves.add(new AttackMove(col, row, col, row + 1, SOLDIERS_PER_CELL / 2));
+            }
+        }
+        return moves;
+    }
+
+    static List<AttackMove> inverse(List<AttackMove> moves) {
+        List<AttackMove> inverse = new ArrayList<>(moves.size());
+        for (AttackMove move : moves) {
+            inverse.add(new AttackMove(move.getDestCol(), move.getDestRow(), move.getOriginCol(), move.getOriginRow(), move.getAmount()));
+        }
+        return inverse;
+    }
+
+    static List<ReinforcementMove> reinforcements(Board board, int playerId, int count) {
+        List<ReinforcementMove> moves = new ArrayList<>(count);
+        for (int index = board.nextControlledCell(playerId, 0);
+             index >= 0 && moves.size() < count;
+             index = board.nextControlledCell(playerId, index + 1)) {
+            moves.add(new ReinforcementMove(board.colOf(index), board.rowOf(index), 1));
+        }
+        return moves;
+    }
+
+    private BenchmarkBoards() {
+    }
+}
@@ -0,0 +1,54 @@
+package rasos;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static rasos.Config.ID_A;
+import static rasos.Config.ID_B;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardQueryBenchmark {
+
+    @Param({"5", "50", "200", "1000"})
+    private int dim;
+
+    private Board board;
+    private GameEndChecker checker;
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkBoards.splitBoard(dim);
+        checker = new GameEndChecker(ID_A, ID_B);
+    }
+
+    @Benchmark
+    public int getPlayerCellCount() {
+        return board.getPlayerCellCount(ID_A);
+    }
+
+    @Benchmark
+    public void getControlledCoordinates(Blackhole blackhole) {
+        for (CellCoordinates coordinates : board.getControlledCoordinates(ID_A)) {
+            blackhole.consume(coordinates);
+        }
+    }
+
+    @Benchmark
+    public void iterateControlledCells(Blackhole blackhole) {
+        for (int index = board.nextControlledCell(ID_A, 0); index >= 0; index = board.nextControlledCell(ID_A, index + 1)) {
+            blackhole.consume(index);
+        }
+    }
+
+    @Benchmark
+    public boolean isEndOfGame() {
+        return checker.isEndOfGame(board);
+    }
+}
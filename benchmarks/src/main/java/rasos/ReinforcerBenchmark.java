@@ -0,0 +1,43 @@
+package rasos;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static rasos.Config.ID_A;
+
+/**
+ * Soldiers accumulate while an iteration runs, so the board is rebuilt before every iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReinforcerBenchmark {
+
+    @Param({"5", "50", "200", "1000"})
+    private int dim;
+
+    @Param({"2", "64", "1024"})
+    private int moves;
+
+    private Board board;
+    private Reinforcer reinforcer;
+    private List<ReinforcementMove> reinforcements;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        board = BenchmarkBoards.splitBoard(dim);
+        reinforcer = new Reinforcer(new SilentRiskLogger());
+        reinforcements = BenchmarkBoards.reinforcements(board, ID_A, moves);
+    }
+
+    @Benchmark
+    public Board apply() {
+        reinforcer.apply(board, ID_A, reinforcements, Integer.MAX_VALUE);
+        return board;
+    }
+}
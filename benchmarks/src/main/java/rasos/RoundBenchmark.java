@@ -0,0 +1,56 @@
+package rasos;
+
+import org.openjdk.jmh.annotations.*;
+import rasos.players.AttackPlayer;
+
+import java.util.concurrent.TimeUnit;
+
+import static rasos.Config.ID_A;
+import static rasos.Config.ID_B;
+
+/**
+ * A full round between two {@link AttackPlayer}s, including the hand-off of player calls to the executor. The game is
+ * restarted from a split board before every iteration so the board doesn't collapse into a single owner.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundBenchmark {
+
+    @Param({"5", "50", "200", "1000"})
+    private int dim;
+
+    private Board board;
+    private RoundHandler handler;
+    private RecyclingExecutor executor;
+
+    @Setup(Level.Trial)
+    public void startExecutor() {
+        executor = new RecyclingExecutor(2);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        RiskLogger logger = new SilentRiskLogger();
+        Player playerA = new AttackPlayer();
+        Player playerB = new AttackPlayer();
+        playerA.setPlayerId(ID_A);
+        playerB.setPlayerId(ID_B);
+        board = BenchmarkBoards.splitBoard(dim);
+        handler = new RoundHandler(ID_A, ID_B, playerA, playerB, new Reinforcer(logger), new Attacker(logger), executor, logger);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Board playOneRound() {
+        handler.playOneRound(board);
+        return board;
+    }
+}
@@ -0,0 +1,231 @@
+package rasos;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Hands every event over to a background writer thread through a bounded ring buffer, so the game threads never
+ * format or print. The writer drains events in batches, replays them on the delegate and flushes the delegate after
+ * each batch when it is {@link Flushable}. Boards passed to {@link #logRoundEnd(Board)} are copied, since the game
+ * keeps mutating them.
+ */
+public class AsyncRiskLogger implements RiskLogger, AutoCloseable {
+    static final int DEFAULT_CAPACITY = 8192;
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final Consumer<RiskLogger> STOP = logger -> {
+    };
+    private static final AtomicInteger writerCounter = new AtomicInteger();
+
+    private final RiskLogger delegate;
+    private final OverflowPolicy overflowPolicy;
+    private final BlockingQueue<Consumer<RiskLogger>> queue;
+    private final LongAdder droppedEventCount = new LongAdder();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public enum OverflowPolicy {
+        /**
+         * The logging thread waits for the writer to make room.
+         */
+        BLOCK,
+        /**
+         * The event is discarded and counted in {@link #getDroppedEventCount()}.
+         */
+        DROP
+    }
+
+    public AsyncRiskLogger(RiskLogger delegate) {
+        this(delegate, DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+    }
+
+    public AsyncRiskLogger(RiskLogger delegate, int capacity, OverflowPolicy overflowPolicy) {
+        this.delegate = delegate;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::drain, "risk-logger-writer-" + writerCounter.incrementAndGet());
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * An asynchronous {@link StdoutRiskLogger} that writes every batch of lines to stdout at once.
+     */
+    public static AsyncRiskLogger toStdout() {
+        return new AsyncRiskLogger(new StdoutRiskLogger(new StdoutRiskLogger.BufferedPrinter(System.out)));
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEventCount.sum();
+    }
+
+    @Override
+    public void logGameStart() {
+        enqueue(RiskLogger::logGameStart);
+    }
+
+    @Override
+    public void logSuccessfulReinforcement(int playerId, ReinforcementMove move) {
+        enqueue(logger -> logger.logSuccessfulReinforcement(playerId, move));
+    }
+
+    @Override
+    public void logFailedReinforcement(int playerId, ReinforcementMove move) {
+        enqueue(logger -> logger.logFailedReinforcement(playerId, move));
+    }
+
+    @Override
+    public void logSuccessfulAttack(int playerId, AttackMove move) {
+        enqueue(logger -> logger.logSuccessfulAttack(playerId, move));
+    }
+
+    @Override
+    public void logFailedAttack(int playerId, AttackMove move) {
+        enqueue(logger -> logger.logFailedAttack(playerId, move));
+    }
+
+    @Override
+    public void logRoundStart() {
+        enqueue(RiskLogger::logRoundStart);
+    }
+
+    @Override
+    public void logRoundEnd(Board board) {
+        // don't copy the board on the game thread for an event that is about to be dropped
+        if (closed || (overflowPolicy == OverflowPolicy.DROP && queue.remainingCapacity() == 0)) {
+            droppedEventCount.increment();
+            return;
+        }
+        Board snapshot = board.copy();
+        enqueue(logger -> logger.logRoundEnd(snapshot));
+    }
+
+    @Override
+    public void logGameEnd(int winnerId) {
+        enqueue(logger -> logger.logGameEnd(winnerId));
+    }
+
+    @Override
+    public void logPlayerReinforcementCodeException(int playerId, Exception e) {
+        enqueue(logger -> logger.logPlayerReinforcementCodeException(playerId, e));
+    }
+
+    @Override
+    public void logPlayerAttackCodeException(int playerId, Exception e) {
+        enqueue(logger -> logger.logPlayerAttackCodeException(playerId, e));
+    }
+
+    @Override
+    public void logPlayerComputation(int playerId, String playerName, Phase phase, long nanos, boolean timedOut) {
+        enqueue(logger -> logger.logPlayerComputation(playerId, playerName, phase, nanos, timedOut));
+    }
+
+    @Override
+    public void logMoveResolution(Phase phase, long nanos) {
+        enqueue(logger -> logger.logMoveResolution(phase, nanos));
+    }
+
+    /**
+     * Writes out every event logged so far and stops the writer. Events logged once closing started are dropped.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            queue.put(STOP);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        // events that raced past the closed check right before closing; the writer is gone, so write them here
+        List<Consumer<RiskLogger>> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        if (!leftovers.isEmpty()) {
+            leftovers.forEach(this::write);
+            flushDelegate();
+        }
+    }
+
+    private void enqueue(Consumer<RiskLogger> event) {
+        if (closed) {
+            droppedEventCount.increment();
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            if (!queue.offer(event)) {
+                droppedEventCount.increment();
+                return;
+            }
+        } else {
+            try {
+                queue.put(event);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedEventCount.increment();
+                return;
+            }
+        }
+        // closing started meanwhile: unless the writer or close() already took the event, it would sit in the queue
+        if (closed && queue.remove(event)) {
+            droppedEventCount.increment();
+        }
+    }
+
+    private void drain() {
+        List<Consumer<RiskLogger>> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                boolean stopped = false;
+                for (Consumer<RiskLogger> event : batch) {
+                    if (event == STOP) {
+                        stopped = true;
+                    } else {
+                        write(event);
+                    }
+                }
+                if (stopped) {
+                    // write what was logged up to closing, even if it was queued behind the stop marker
+                    batch.clear();
+                    queue.drainTo(batch);
+                    batch.forEach(this::write);
+                    flushDelegate();
+                    return;
+                }
+                batch.clear();
+                flushDelegate();
+            }
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    private void write(Consumer<RiskLogger> event) {
+        try {
+            event.accept(delegate);
+        } catch (RuntimeException ignored) {
+            // a failing delegate must not kill the writer
+        }
+    }
+
+    private void flushDelegate() {
+        if (delegate instanceof Flushable) {
+            try {
+                ((Flushable) delegate).flush();
+            } catch (IOException | RuntimeException ignored) {
+            }
+        }
+    }
+}
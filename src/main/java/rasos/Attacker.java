@@ -1,73 +1,65 @@
 package rasos;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import java.util.Arrays;
+
+/**
+ * Resolves both players' attack moves simultaneously. Every player moves soldiers on its own projection of the
+ * board (the board restricted to the cells it controls); the projections are then reduced cell by cell, where
+ * opposing soldiers annihilate each other and the larger force keeps the cell.
+ * <p>
+ * Only cells named in the moves can change, so projections are kept sparsely in scratch buffers that are reused
+ * across rounds. An Attacker is therefore not thread-safe and should not be shared between concurrently running games.
+ */
 public class Attacker {
 
     private RiskLogger logger;
+    private int[] projectedA = new int[0];
+    private int[] projectedB = new int[0];
+    private NeighbourTable neighbours = NeighbourTable.forDim(0);
+    private int[] stamps = new int[0];
+    private int[] touched = new int[0];
+    private int touchedCount;
+    private int generation;
+    private int reducedControllingPlayerId;
+    private int reducedNumSoldiers;
 
     Attacker(RiskLogger logger) {
         this.logger = logger;
     }
 
     public void apply(Board board, Iterable<AttackMove> movesA, Iterable<AttackMove> movesB, int idA, int idB) {
-        Board[] intermediateBoards = generateIntermediateBoards(board, movesA, movesB, idA, idB);
-        Board reduced = reduce(intermediateBoards);
-        copy(board, reduced);
-    }
-
-    private Board[] generateIntermediateBoards(Board board, Iterable<AttackMove> movesA, Iterable<AttackMove> movesB, int idA, int idB) {
-        Board[] projectedBoards = createProjectedBoards(board);
-        fillIntermediateBoards(movesA, movesB, projectedBoards, idA, idB);
-        return projectedBoards;
-    }
-
-    private Board[] createProjectedBoards(Board board) {
-        List<Integer> playerIds = getPlayerIds(board);
-        Board[] iBoards = new Board[playerIds.size()];
-        for (int i = 0; i < playerIds.size(); i++) {
-            iBoards[i] = project(board, playerIds.get(i));
+        prepareScratchBuffers(board.getCellCount());
+        if (neighbours.getDim() != board.getDim()) {
+            neighbours = NeighbourTable.forDim(board.getDim());
+        }
+        int firstIndexA = board.nextControlledCell(idA, 0);
+        int firstIndexB = board.nextControlledCell(idB, 0);
+        fillProjection(board, idA, movesA, projectedA, idA, idB);
+        fillProjection(board, idB, movesB, projectedB, idA, idB);
+        for (int i = 0; i < touchedCount; i++) {
+            reduce(board, touched[i], idA, idB, firstIndexA, firstIndexB);
         }
-        return iBoards;
     }
 
-    private List<Integer> getPlayerIds(Board board) {
-        List<Integer> playerIds = new ArrayList<>();
-        for (int i = 1; i <= board.getDim(); i++) {
-            for (int j = 1; j <= board.getDim(); j++) {
-                int controllingPlayerId = board.cellAt(i, j).getControllingPlayerId();
-                if (controllingPlayerId != 0 && !playerIds.contains(controllingPlayerId)) {
-                    playerIds.add(controllingPlayerId);
-                }
-            }
+    private void prepareScratchBuffers(int cellCount) {
+        if (stamps.length < cellCount) {
+            projectedA = new int[cellCount];
+            projectedB = new int[cellCount];
+            stamps = new int[cellCount];
+            touched = new int[cellCount];
+            generation = 0;
         }
-        return playerIds;
-    }
-
-    private Board project(Board board, int playerId) {
-        int dim = board.getDim();
-        Board res = new Board(dim);
-        copy(res, board);
-        for (int i = 1; i <= dim; i++) {
-            for (int j = 1; j <= dim; j++) {
-                if (!board.cellAt(i, j).isControlledBy(playerId)) {
-                    res.cellAt(i, j).makeNeutral();
-                }
-            }
+        if (++generation == 0) {
+            Arrays.fill(stamps, 0);
+            generation = 1;
         }
-        return res;
+        touchedCount = 0;
     }
 
-    private void fillIntermediateBoards(Iterable<AttackMove> movesA, Iterable<AttackMove> movesB, Board[] intermediateBoards, int idA, int idB) {
-        fillIntermediateBoard(intermediateBoards[0], idA, movesA);
-        fillIntermediateBoard(intermediateBoards[1], idB, movesB);
-    }
-
-    private void fillIntermediateBoard(Board intermediateBoard, int playerId, Iterable<AttackMove> playerMoves) {
+    private void fillProjection(Board board, int playerId, Iterable<AttackMove> playerMoves, int[] projected, int idA, int idB) {
         for (AttackMove playerMove : playerMoves) {
-            if (isValidMove(intermediateBoard, playerMove)) {
-                applyMove(intermediateBoard, playerId, playerMove);
+            if (isValidMove(board, playerId, projected, playerMove)) {
+                applyMove(board, projected, playerMove, idA, idB);
                 logger.logSuccessfulAttack(playerId, playerMove);
             } else {
                 logger.logFailedAttack(playerId, playerMove);
@@ -75,89 +67,125 @@ public class Attacker {
         }
     }
 
-    private boolean isValidMove(Board board, AttackMove move) {
+    private boolean isValidMove(Board board, int playerId, int[] projected, AttackMove move) {
         return !isExceedingBoardMove(board, move) &&
-                isValidAmount(board, move) &&
-                isAmongNeighbouringCells(move);
+                isValidAmount(board, playerId, projected, move) &&
+                isAmongNeighbouringCells(board, move);
     }
 
-    private boolean isValidAmount(Board board, AttackMove move) {
-        int max = getOriginCell(board, move).getNumSoldiers();
+    private boolean isValidAmount(Board board, int playerId, int[] projected, AttackMove move) {
+        int max = getProjectedSoldiers(board, playerId, projected, getOriginIndex(board, move));
         return move.getAmount() > 0 && move.getAmount() <= max;
     }
 
-    private Cell getOriginCell(Board board, AttackMove move) {
-        return board.cellAt(move.getOriginCol(), move.getOriginRow());
+    private int getOriginIndex(Board board, AttackMove move) {
+        return board.indexOf(move.getOriginCol(), move.getOriginRow());
+    }
+
+    private int getDestIndex(Board board, AttackMove attackMove) {
+        return board.indexOf(attackMove.getDestCol(), attackMove.getDestRow());
     }
 
-    private boolean isAmongNeighbouringCells(AttackMove move) {
-        return Math.abs(move.getOriginCol() - move.getDestCol()) <= 1 &&
-                Math.abs(move.getOriginRow() - move.getDestRow()) <= 1;
+    // moving soldiers within their own cell is a valid no-op
+    private boolean isAmongNeighbouringCells(Board board, AttackMove move) {
+        int originIndex = getOriginIndex(board, move);
+        int destIndex = getDestIndex(board, move);
+        return originIndex == destIndex || neighbours.areNeighbours(originIndex, destIndex);
     }
 
     private boolean isExceedingBoardMove(Board board, AttackMove move) {
-        return (move.getDestCol() > board.getDim() || move.getDestRow() > board.getDim()) ||
-                (move.getOriginCol() < 1 || move.getOriginRow() < 1);
+        return isExceedingBoardIdx(board, move.getOriginCol()) || isExceedingBoardIdx(board, move.getOriginRow()) ||
+                isExceedingBoardIdx(board, move.getDestCol()) || isExceedingBoardIdx(board, move.getDestRow());
     }
 
-    private void applyMove(Board playerIB, int playerId, AttackMove playerMove) {
+    private boolean isExceedingBoardIdx(Board board, int idx) {
+        return idx < 1 || idx > board.getDim();
+    }
+
+    private void applyMove(Board board, int[] projected, AttackMove playerMove, int idA, int idB) {
         int amount = playerMove.getAmount();
 
-        Cell originCell = getOriginCell(playerIB, playerMove);
-        Cell destCell = getDestCell(playerIB, playerMove);
+        int originIndex = getOriginIndex(board, playerMove);
+        int destIndex = getDestIndex(board, playerMove);
+        touch(board, originIndex, idA, idB);
+        touch(board, destIndex, idA, idB);
 
-        originCell.updateNumSoldiers(originCell.getNumSoldiers() - amount);
-        destCell.setValues(playerId, destCell.getNumSoldiers() + amount);
+        projected[originIndex] -= amount;
+        projected[destIndex] += amount;
     }
 
-    private Cell getDestCell(Board board, AttackMove attackMove) {
-        return board.cellAt(attackMove.getDestCol(), attackMove.getDestRow());
+    private int getProjectedSoldiers(Board board, int playerId, int[] projected, int index) {
+        if (stamps[index] == generation) {
+            return projected[index];
+        }
+        return board.ownerAt(index) == playerId ? board.soldiersAt(index) : 0;
     }
 
-    private Board reduce(Board[] intermediateBoards) {
-        Board emptyBoard = new Board(intermediateBoards[0].getDim());
-        Board reduced = reduce(emptyBoard, intermediateBoards[0]);
-        for (int i = 1; i < intermediateBoards.length; i++) {
-            reduced = reduce(reduced, intermediateBoards[i]);
+    private void touch(Board board, int index, int idA, int idB) {
+        if (stamps[index] != generation) {
+            stamps[index] = generation;
+            projectedA[index] = board.ownerAt(index) == idA ? board.soldiersAt(index) : 0;
+            projectedB[index] = board.ownerAt(index) == idB ? board.soldiersAt(index) : 0;
+            touched[touchedCount++] = index;
         }
-        return reduced;
     }
 
-    private Board reduce(Board a, Board b) {
-        int dim = a.getDim();
-        Board res = new Board(dim);
-        for (int i = 1; i <= dim; i++) {
-            for (int j = 1; j <= dim; j++) {
-                int controllingPlayerId = getReducedControllingPlayerId(i, j, a, b);
-                int numSoldiers = getReducedNumSoldiers(i, j, a, b);
-                res.cellAt(i, j).setValues(controllingPlayerId, numSoldiers);
+    // Projections are reduced in the order in which their players first appear on the board, which only matters
+    // when a third player still holds a cell that both attackers moved into.
+    private void reduce(Board board, int index, int idA, int idB, int firstIndexA, int firstIndexB) {
+        int owner = board.ownerAt(index);
+        boolean hasBystander = owner != 0 && owner != idA && owner != idB;
+        int firstIndexBystander = hasBystander ? board.nextControlledCell(owner, 0) : -1;
+
+        reducedControllingPlayerId = 0;
+        reducedNumSoldiers = 0;
+        for (int rank = 0; rank < 3; rank++) {
+            if (isNthToAppear(rank, firstIndexA, firstIndexB, firstIndexBystander)) {
+                reduce(idA, projectedA[index]);
+            }
+            if (isNthToAppear(rank, firstIndexB, firstIndexA, firstIndexBystander)) {
+                reduce(idB, projectedB[index]);
             }
+            if (hasBystander && isNthToAppear(rank, firstIndexBystander, firstIndexA, firstIndexB)) {
+                reduce(owner, board.soldiersAt(index));
+            }
+        }
+
+        if (reducedControllingPlayerId != owner || reducedNumSoldiers != board.soldiersAt(index)) {
+            board.setCell(index, reducedControllingPlayerId, reducedNumSoldiers);
         }
-        return res;
     }
 
-    private int getReducedControllingPlayerId(int colIdx, int rowIdx, Board a, Board b) {
-        int soldiersA = a.cellAt(colIdx, rowIdx).getNumSoldiers();
-        int soldiersB = b.cellAt(colIdx, rowIdx).getNumSoldiers();
+    private boolean isNthToAppear(int rank, int firstIndex, int firstIndexOther1, int firstIndexOther2) {
+        int earlier = 0;
+        if (appearsBefore(firstIndexOther1, firstIndex)) earlier++;
+        if (appearsBefore(firstIndexOther2, firstIndex)) earlier++;
+        return earlier == rank;
+    }
+
+    private boolean appearsBefore(int firstIndex, int otherFirstIndex) {
+        // players absent from the board (-1) go last; their projections are empty and never affect the reduction
+        return firstIndex >= 0 && (otherFirstIndex < 0 || firstIndex < otherFirstIndex);
+    }
+
+    private void reduce(int playerId, int numSoldiers) {
+        int controllingPlayerId = getReducedControllingPlayerId(reducedControllingPlayerId, reducedNumSoldiers,
+                numSoldiers == 0 ? 0 : playerId, numSoldiers);
+        reducedNumSoldiers = getReducedNumSoldiers(reducedNumSoldiers, numSoldiers);
+        reducedControllingPlayerId = controllingPlayerId;
+    }
+
+    private int getReducedControllingPlayerId(int ownerA, int soldiersA, int ownerB, int soldiersB) {
         if (soldiersA < soldiersB) {
-            return b.cellAt(colIdx, rowIdx).getControllingPlayerId();
+            return ownerB;
         } else if (soldiersA > soldiersB) {
-            return a.cellAt(colIdx, rowIdx).getControllingPlayerId();
+            return ownerA;
         } else {
             return 0;
         }
     }
 
-    private int getReducedNumSoldiers(int colIdx, int rowIdx, Board a, Board b) {
-        return Math.abs(a.cellAt(colIdx, rowIdx).getNumSoldiers() - b.cellAt(colIdx, rowIdx).getNumSoldiers());
-    }
-
-    private void copy(Board target, Board source) {
-        for (int i = 1; i <= target.getDim(); i++) {
-            for (int j = 1; j <= target.getDim(); j++) {
-                Cell cell = source.cellAt(i, j);
-                target.cellAt(i, j).setValues(cell.getControllingPlayerId(), cell.getNumSoldiers());
-            }
-        }
+    private int getReducedNumSoldiers(int soldiersA, int soldiersB) {
+        return Math.abs(soldiersA - soldiersB);
     }
-}
\ No newline at end of file
+}
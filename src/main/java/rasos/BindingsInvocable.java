@@ -0,0 +1,129 @@
+package rasos;
+
+import jdk.nashorn.api.scripting.JSObject;
+
+import javax.script.Bindings;
+import javax.script.Invocable;
+import javax.script.ScriptException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Invokes the top level functions of a script that was evaluated into its own {@link Bindings}, rather than into the
+ * engine's default scope that {@link javax.script.ScriptEngine}'s own {@link Invocable} is bound to.
+ */
+class BindingsInvocable implements Invocable {
+    private final Bindings bindings;
+
+    BindingsInvocable(Bindings bindings) {
+        this.bindings = bindings;
+    }
+
+    @Override
+    public Object invokeFunction(String name, Object... args) throws NoSuchMethodException {
+        Object function = bindings.get(name);
+        if (!(function instanceof JSObject) || !((JSObject) function).isFunction()) {
+            throw new NoSuchMethodException(name);
+        }
+        return ((JSObject) function).call(null, args);
+    }
+
+    @Override
+    public Object invokeMethod(Object thiz, String name, Object... args) throws NoSuchMethodException {
+        if (!(thiz instanceof JSObject)) {
+            throw new IllegalArgumentException("Not a script object: " + thiz);
+        }
+        Object method = ((JSObject) thiz).getMember(name);
+        if (!(method instanceof JSObject) || !((JSObject) method).isFunction()) {
+            throw new NoSuchMethodException(name);
+        }
+        return ((JSObject) method).call(thiz, args);
+    }
+
+    /**
+     * @return an implementation of {@code clasz} whose methods call the top level functions of the same names, or
+     * null if the script lacks any of them
+     */
+    @Override
+    public <T> T getInterface(Class<T> clasz) {
+        checkInterface(clasz);
+        for (Method method : clasz.getMethods()) {
+            if (!isFunction(bindings.get(method.getName()))) {
+                return null;
+            }
+        }
+        return createProxy(clasz, (name, args) -> invokeFunction(name, args));
+    }
+
+    /**
+     * @return an implementation of {@code clasz} whose methods call the methods of the same names of the script
+     * object {@code thiz}, or null if it lacks any of them
+     */
+    @Override
+    public <T> T getInterface(Object thiz, Class<T> clasz) {
+        checkInterface(clasz);
+        if (!(thiz instanceof JSObject)) {
+            throw new IllegalArgumentException("Not a script object: " + thiz);
+        }
+        for (Method method : clasz.getMethods()) {
+            if (!isFunction(((JSObject) thiz).getMember(method.getName()))) {
+                return null;
+            }
+        }
+        return createProxy(clasz, (name, args) -> invokeMethod(thiz, name, args));
+    }
+
+    private static boolean isFunction(Object member) {
+        return member instanceof JSObject && ((JSObject) member).isFunction();
+    }
+
+    private static void checkInterface(Class<?> clasz) {
+        if (clasz == null || !clasz.isInterface()) {
+            throw new IllegalArgumentException("Not an interface: " + clasz);
+        }
+    }
+
+    private static <T> T createProxy(Class<T> clasz, ScriptCall call) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return "Script implementation of " + clasz.getName();
+                }
+            }
+            Object result = call.invoke(method.getName(), args == null ? new Object[0] : args);
+            return convert(result, method.getReturnType());
+        };
+        return clasz.cast(Proxy.newProxyInstance(clasz.getClassLoader(), new Class<?>[]{clasz}, handler));
+    }
+
+    // scripts only know doubles, booleans and strings; adapt them to what the interface method declares
+    private static Object convert(Object result, Class<?> type) {
+        if (type == void.class) {
+            return null;
+        }
+        if (result instanceof Number) {
+            Number number = (Number) result;
+            if (type == int.class || type == Integer.class) return number.intValue();
+            if (type == long.class || type == Long.class) return number.longValue();
+            if (type == double.class || type == Double.class) return number.doubleValue();
+            if (type == float.class || type == Float.class) return number.floatValue();
+            if (type == short.class || type == Short.class) return number.shortValue();
+            if (type == byte.class || type == Byte.class) return number.byteValue();
+        }
+        if (type == String.class && result != null) {
+            return result.toString();
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface ScriptCall {
+        Object invoke(String name, Object[] args) throws ScriptException, NoSuchMethodException;
+    }
+}
@@ -3,15 +3,32 @@ package rasos;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
-public class Board {
-    @JsonProperty
-    private Cell[][] configuration;
+public class Board implements BoardView {
     @JsonProperty
     private int dim;
+    // cell state is stored column-major: index = (col - 1) * dim + (row - 1)
+    private int[] owners;
+    private int[] soldiers;
+    // per-player counters and cell index, kept up to date on every cell write; slots are looked up linearly by player id
+    private int[] playerIds = new int[0];
+    private int[] playerCellCounts = new int[0];
+    private int[] playerSoldierCounts = new int[0];
+    private BitSet[] playerCells = new BitSet[0];
+    private int controlledCellCount;
+    // bumped before and after every cell write, so it is odd while one is under way (a seqlock): readers on other
+    // threads can tell they raced with a write, and serialized forms are cached per version
+    private volatile long version;
+    private BoardSnapshotCache snapshots = new BoardSnapshotCache();
+    private BoardChangeJournal[] journals = new BoardChangeJournal[0];
+    // Zobrist hashes over (cell, owner, soldiers) and over (cell, owner), kept up to date on every cell write
+    private long stateHash;
+    private long ownershipHash;
 
     @SuppressWarnings("unused") // necessary for Jackson
     private Board() {
@@ -19,37 +36,58 @@ public class Board {
 
     Board(int dim) {
         this.dim = dim;
-        configuration = new Cell[dim][dim];
-        for (int i = 0; i < configuration.length; i++) {
-            for (int j = 0; j < configuration[i].length; j++) {
-                configuration[i][j] = Cell.neutral();
-            }
-        }
+        this.owners = new int[dim * dim];
+        this.soldiers = new int[dim * dim];
     }
 
+    @Override
     public Iterable<CellCoordinates> getControlledCoordinates(int playerId) {
-        List<CellCoordinates> res = new LinkedList<>();
-        for (int colIdx = 0; colIdx < dim; colIdx++) {
-            for (int rowIdx = 0; rowIdx < dim; rowIdx++) {
-                if (configuration[colIdx][rowIdx].isControlledBy(playerId)) {
-                    res.add(new CellCoordinates(colIdx + 1, rowIdx + 1));
+        List<CellCoordinates> res = new ArrayList<>(getPlayerCellCount(playerId));
+        for (int index = nextControlledCell(playerId, 0); index >= 0; index = nextControlledCell(playerId, index + 1)) {
+            res.add(new CellCoordinates(colOf(index), rowOf(index)));
+        }
+        return res;
+    }
+
+    /**
+     * Allocation-free iteration over the cells controlled by a player, in ascending index order:
+     * <pre>
+     * for (int i = board.nextControlledCell(id, 0); i >= 0; i = board.nextControlledCell(id, i + 1))
+     * </pre>
+     *
+     * @return the index of the first cell at or after {@code fromIndex} controlled by {@code playerId}, or -1 if none
+     */
+    @Override
+    public int nextControlledCell(int playerId, int fromIndex) {
+        if (playerId == 0) {
+            for (int index = Math.max(fromIndex, 0); index < owners.length; index++) {
+                if (owners[index] == 0) {
+                    return index;
                 }
             }
+            return -1;
         }
-        return res;
+        int slot = findSlot(playerId);
+        return slot < 0 ? -1 : playerCells[slot].nextSetBit(fromIndex);
     }
 
     @JsonIgnore
+    @Override
     public boolean isEmpty() {
-        return getBoardCellStream().allMatch(Cell::isNeutral);
+        return controlledCellCount == 0;
     }
 
     @Override
     public String toString() {
+        return getSnapshot(BoardSnapshotCache.Form.TEXT, this::render);
+    }
+
+    private String render() {
         StringBuilder sb = new StringBuilder();
-        for (int rowIdx = 0; rowIdx < dim; rowIdx++) {
-            for (int colIdx = 0; colIdx < dim; colIdx++) {
-                sb.append(configuration[colIdx][rowIdx].toString()).append(" ");
+        for (int rowIdx = 1; rowIdx <= dim; rowIdx++) {
+            for (int colIdx = 1; colIdx <= dim; colIdx++) {
+                int index = indexOf(colIdx, rowIdx);
+                sb.append(Cell.toString(owners[index], soldiers[index])).append(" ");
             }
             sb.append(System.lineSeparator());
 
@@ -57,28 +95,39 @@ public class Board {
         return sb.toString().trim();
     }
 
+    @Override
     public Cell cellAt(int col, int row) {
-        return configuration[col - 1][row - 1];
+        return new Cell(this, indexOf(col, row));
     }
 
     void populateHomeBases(int numSoldiers, int idA, int idB) {
         if (numSoldiers == 0) {
-            getHome1Cell().makeNeutral();
-            getHome2Cell().makeNeutral();
+            makeNeutral(indexOf(1, 1));
+            makeNeutral(indexOf(dim, dim));
         } else {
-            getHome1Cell().setValues(idA, numSoldiers);
-            getHome2Cell().setValues(idB, numSoldiers);
+            setCell(indexOf(1, 1), idA, numSoldiers);
+            setCell(indexOf(dim, dim), idB, numSoldiers);
         }
     }
 
-    int getDim() {
+    @Override
+    public int getDim() {
         return dim;
     }
 
-    int getPlayerCellCount(int playerId) {
-        return (int) getBoardCellStream()
-                .filter(cell -> cell.isControlledBy(playerId))
-                .count();
+    @Override
+    public int getPlayerCellCount(int playerId) {
+        if (playerId == 0) {
+            return owners.length - controlledCellCount;
+        }
+        int slot = findSlot(playerId);
+        return slot < 0 ? 0 : playerCellCounts[slot];
+    }
+
+    @Override
+    public int getPlayerSoldierCount(int playerId) {
+        int slot = findSlot(playerId);
+        return slot < 0 ? 0 : playerSoldierCounts[slot];
     }
 
     Cell getHome1Cell() {
@@ -89,8 +138,182 @@ public class Board {
         return cellAt(dim, dim);
     }
 
-    private Stream<Cell> getBoardCellStream() {
-        return Stream.of(configuration)
-                .flatMap(Stream::of);
+    int getCellCount() {
+        return owners.length;
+    }
+
+    Board copy() {
+        Board copy = new Board();
+        copy.dim = dim;
+        copy.owners = owners.clone();
+        copy.soldiers = soldiers.clone();
+        copy.playerIds = playerIds.clone();
+        copy.playerCellCounts = playerCellCounts.clone();
+        copy.playerSoldierCounts = playerSoldierCounts.clone();
+        copy.playerCells = new BitSet[playerCells.length];
+        for (int slot = 0; slot < playerCells.length; slot++) {
+            copy.playerCells[slot] = (BitSet) playerCells[slot].clone();
+        }
+        copy.controlledCellCount = controlledCellCount;
+        copy.version = version;
+        copy.stateHash = stateHash;
+        copy.ownershipHash = ownershipHash;
+        copy.snapshots = snapshots.copy();
+        return copy;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    long getStateHash() {
+        return stateHash;
+    }
+
+    long getOwnershipHash() {
+        return ownershipHash;
+    }
+
+    BoardChangeJournal attachJournal() {
+        BoardChangeJournal journal = new BoardChangeJournal(this);
+        journals = Arrays.copyOf(journals, journals.length + 1);
+        journals[journals.length - 1] = journal;
+        return journal;
+    }
+
+    void detachJournal(BoardChangeJournal journal) {
+        for (int i = 0; i < journals.length; i++) {
+            if (journals[i] == journal) {
+                BoardChangeJournal[] remaining = new BoardChangeJournal[journals.length - 1];
+                System.arraycopy(journals, 0, remaining, 0, i);
+                System.arraycopy(journals, i + 1, remaining, i, remaining.length - i);
+                journals = remaining;
+                return;
+            }
+        }
+    }
+
+    <T> T getSnapshot(BoardSnapshotCache.Form form, Supplier<T> compute) {
+        long current = version;
+        T cached = snapshots.get(form, current);
+        if (cached != null) {
+            return cached;
+        }
+        T value = compute.get();
+        // a form computed by another thread while the engine was writing may be torn, so it isn't kept
+        if ((current & 1) == 0 && version == current) {
+            snapshots.put(form, current, value);
+        }
+        return value;
+    }
+
+    @Override
+    public int indexOf(int col, int row) {
+        if (col < 1 || col > dim || row < 1 || row > dim) {
+            throw new IndexOutOfBoundsException(String.format("Cell %d,%d is outside of a %dx%d board", col, row, dim, dim));
+        }
+        return (col - 1) * dim + (row - 1);
+    }
+
+    @Override
+    public int colOf(int index) {
+        return index / dim + 1;
+    }
+
+    @Override
+    public int rowOf(int index) {
+        return index % dim + 1;
+    }
+
+    @Override
+    public int ownerAt(int index) {
+        return owners[index];
+    }
+
+    @Override
+    public int soldiersAt(int index) {
+        return soldiers[index];
+    }
+
+    void setCell(int index, int controllingPlayerId, int numSoldiers) {
+        Cell.throwOnInvalidSetParams(controllingPlayerId, numSoldiers);
+        write(index, controllingPlayerId, numSoldiers);
+    }
+
+    void updateSoldiers(int index, int numSoldiers) {
+        Cell.checkNotNegative(numSoldiers);
+        if (numSoldiers == 0) {
+            makeNeutral(index);
+        } else if (owners[index] == 0) {
+            throw new RuntimeException(Cell.NEUTRAL_CELL_CONTAINING_SOLDIERS_ERROR);
+        } else {
+            write(index, owners[index], numSoldiers);
+        }
+    }
+
+    void makeNeutral(int index) {
+        write(index, 0, 0);
+    }
+
+    private void write(int index, int controllingPlayerId, int numSoldiers) {
+        version++;
+        int previousOwner = owners[index];
+        if (previousOwner != 0) {
+            int slot = findSlot(previousOwner);
+            playerCellCounts[slot]--;
+            playerSoldierCounts[slot] -= soldiers[index];
+            playerCells[slot].clear(index);
+            controlledCellCount--;
+        }
+        if (controllingPlayerId != 0) {
+            int slot = getOrCreateSlot(controllingPlayerId);
+            playerCellCounts[slot]++;
+            playerSoldierCounts[slot] += numSoldiers;
+            playerCells[slot].set(index);
+            controlledCellCount++;
+        }
+        stateHash ^= Zobrist.stateKey(index, previousOwner, soldiers[index]) ^ Zobrist.stateKey(index, controllingPlayerId, numSoldiers);
+        ownershipHash ^= Zobrist.ownershipKey(index, previousOwner) ^ Zobrist.ownershipKey(index, controllingPlayerId);
+        owners[index] = controllingPlayerId;
+        soldiers[index] = numSoldiers;
+        version++;
+        for (BoardChangeJournal journal : journals) {
+            journal.mark(index);
+        }
+    }
+
+    private int findSlot(int playerId) {
+        for (int slot = 0; slot < playerIds.length; slot++) {
+            if (playerIds[slot] == playerId) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int getOrCreateSlot(int playerId) {
+        int slot = findSlot(playerId);
+        if (slot >= 0) {
+            return slot;
+        }
+        slot = playerIds.length;
+        playerIds = Arrays.copyOf(playerIds, slot + 1);
+        playerCellCounts = Arrays.copyOf(playerCellCounts, slot + 1);
+        playerSoldierCounts = Arrays.copyOf(playerSoldierCounts, slot + 1);
+        playerCells = Arrays.copyOf(playerCells, slot + 1);
+        playerIds[slot] = playerId;
+        playerCells[slot] = new BitSet(owners.length);
+        return slot;
+    }
+
+    @JsonProperty("configuration")
+    private Cell[][] getConfiguration() {
+        Cell[][] configuration = new Cell[dim][dim];
+        for (int colIdx = 1; colIdx <= dim; colIdx++) {
+            for (int rowIdx = 1; rowIdx <= dim; rowIdx++) {
+                configuration[colIdx - 1][rowIdx - 1] = cellAt(colIdx, rowIdx);
+            }
+        }
+        return configuration;
     }
 }
@@ -0,0 +1,63 @@
+package rasos;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Records which cells of a board were written since it was last drained. Every cell is recorded once, however many
+ * times it was written. A journal is attached to a single board and belongs to a single consumer.
+ */
+class BoardChangeJournal {
+    private final Board board;
+    private final BitSet changed;
+    private int[] changedIndices = new int[16];
+    private int changedCount;
+    private BoardDelta lastDrained;
+    // set by the player thread once a delta was applied; a delta that never arrived forces a full snapshot
+    private volatile BoardDelta lastAcknowledged;
+
+    BoardChangeJournal(Board board) {
+        this.board = board;
+        this.changed = new BitSet(board.getCellCount());
+    }
+
+    Board getBoard() {
+        return board;
+    }
+
+    void mark(int index) {
+        if (!changed.get(index)) {
+            changed.set(index);
+            if (changedCount == changedIndices.length) {
+                changedIndices = Arrays.copyOf(changedIndices, changedCount * 2);
+            }
+            changedIndices[changedCount++] = index;
+        }
+    }
+
+    int getChangedCount() {
+        return changedCount;
+    }
+
+    BoardDelta drain() {
+        boolean fullSnapshot = lastDrained == null || lastAcknowledged != lastDrained;
+        int size = fullSnapshot ? board.getCellCount() : changedCount;
+        int[] indices = new int[size];
+        int[] owners = new int[size];
+        int[] soldiers = new int[size];
+        for (int i = 0; i < size; i++) {
+            int index = fullSnapshot ? i : changedIndices[i];
+            indices[i] = index;
+            owners[i] = board.ownerAt(index);
+            soldiers[i] = board.soldiersAt(index);
+        }
+        changed.clear();
+        changedCount = 0;
+        lastDrained = new BoardDelta(board.getDim(), fullSnapshot, indices, owners, soldiers);
+        return lastDrained;
+    }
+
+    void acknowledge(BoardDelta delta) {
+        lastAcknowledged = delta;
+    }
+}
@@ -0,0 +1,49 @@
+package rasos;
+
+/**
+ * The cells that changed on the board since the previous delta delivered to the same player, with their current
+ * owner and soldiers. The first delta a player gets in a game is a full snapshot holding every cell, so a mirror can
+ * be built from scratch.
+ */
+public class BoardDelta {
+    private final int dim;
+    private final boolean fullSnapshot;
+    private final int[] indices;
+    private final int[] owners;
+    private final int[] soldiers;
+
+    BoardDelta(int dim, boolean fullSnapshot, int[] indices, int[] owners, int[] soldiers) {
+        this.dim = dim;
+        this.fullSnapshot = fullSnapshot;
+        this.indices = indices;
+        this.owners = owners;
+        this.soldiers = soldiers;
+    }
+
+    public int getDim() {
+        return dim;
+    }
+
+    public boolean isFullSnapshot() {
+        return fullSnapshot;
+    }
+
+    public int size() {
+        return indices.length;
+    }
+
+    /**
+     * @return the changed cell's index, {@code (col - 1) * dim + (row - 1)}
+     */
+    public int getIndex(int i) {
+        return indices[i];
+    }
+
+    public int getOwner(int i) {
+        return owners[i];
+    }
+
+    public int getSoldiers(int i) {
+        return soldiers[i];
+    }
+}
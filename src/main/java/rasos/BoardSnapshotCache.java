@@ -0,0 +1,55 @@
+package rasos;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Serialized forms of a {@link Board}, each computed at most once per board version and shared by every consumer
+ * until the board changes. Entries are immutable, so concurrent readers need no locking; two threads racing on the
+ * same new version may both compute the form, and either result is kept.
+ */
+class BoardSnapshotCache {
+    enum Form {
+        TEXT
+    }
+
+    private final AtomicReferenceArray<Entry> entries;
+
+    BoardSnapshotCache() {
+        this.entries = new AtomicReferenceArray<>(Form.values().length);
+    }
+
+    private BoardSnapshotCache(AtomicReferenceArray<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * @return the form cached for this version, or null
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(Form form, long version) {
+        Entry entry = entries.get(form.ordinal());
+        return entry != null && entry.version == version ? (T) entry.value : null;
+    }
+
+    void put(Form form, long version, Object value) {
+        entries.set(form.ordinal(), new Entry(version, value));
+    }
+
+    BoardSnapshotCache copy() {
+        AtomicReferenceArray<Entry> copied = new AtomicReferenceArray<>(entries.length());
+        for (int i = 0; i < entries.length(); i++) {
+            copied.set(i, entries.get(i));
+        }
+        return new BoardSnapshotCache(copied);
+    }
+
+    private static class Entry {
+        private final long version;
+        private final Object value;
+
+        Entry(long version, Object value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
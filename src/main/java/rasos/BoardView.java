@@ -0,0 +1,45 @@
+package rasos;
+
+/**
+ * What players get to see of the board. Cells are addressed either by 1-based column and row or by their index in
+ * the column-major cell order, {@code index = (col - 1) * dim + (row - 1)}.
+ */
+public interface BoardView {
+    int getDim();
+
+    CellView cellAt(int col, int row);
+
+    int indexOf(int col, int row);
+
+    int colOf(int index);
+
+    int rowOf(int index);
+
+    int ownerAt(int index);
+
+    int soldiersAt(int index);
+
+    int getPlayerCellCount(int playerId);
+
+    int getPlayerSoldierCount(int playerId);
+
+    Iterable<CellCoordinates> getControlledCoordinates(int playerId);
+
+    /**
+     * Like {@link #getControlledCoordinates(int)}, but fills {@code into} (after clearing it) with
+     * {@link CellCoordinates#pack packed} coordinates, so a set kept across turns makes this allocation-free.
+     *
+     * @return {@code into}
+     */
+    default CoordinateSet getControlledCoordinates(int playerId, CoordinateSet into) {
+        into.clear();
+        for (int index = nextControlledCell(playerId, 0); index >= 0; index = nextControlledCell(playerId, index + 1)) {
+            into.add(colOf(index), rowOf(index));
+        }
+        return into;
+    }
+
+    int nextControlledCell(int playerId, int fromIndex);
+
+    boolean isEmpty();
+}
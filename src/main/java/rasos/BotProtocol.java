@@ -0,0 +1,79 @@
+package rasos;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The framing {@link ProcessPlayer} and {@link ProcessBotHost} speak over the child's stdin and stdout. All numbers
+ * are big-endian ints.
+ * <pre>
+ * child, once on startup:  MAGIC
+ * request:                 type playerId dim [reinforcement] changedCellCount (index owner soldiers)*
+ * response:                moveCount (col row amount | originCol originRow destCol destRow amount)*
+ *                          or ERROR if the bot threw
+ * </pre>
+ * Requests only carry the cells that changed since the previous request, against a mirror of the board both sides
+ * keep. Both mirrors start out neutral and are reset whenever the dim changes.
+ */
+class BotProtocol {
+    static final int MAGIC = 0x7261736f;
+    static final int REINFORCEMENT_REQUEST = 1;
+    static final int ATTACK_REQUEST = 2;
+    static final int ERROR = -1;
+    static final String BAD_RESPONSE_ERROR = "Bot sent a malformed response";
+
+    static List<ReinforcementMove> readReinforcementMoves(DataInputStream in, int maxMoves) throws IOException {
+        int count = readMoveCount(in, maxMoves);
+        List<ReinforcementMove> moves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            moves.add(new ReinforcementMove(in.readInt(), in.readInt(), in.readInt()));
+        }
+        return moves;
+    }
+
+    static List<AttackMove> readAttackMoves(DataInputStream in, int maxMoves) throws IOException {
+        int count = readMoveCount(in, maxMoves);
+        List<AttackMove> moves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            moves.add(new AttackMove(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt()));
+        }
+        return moves;
+    }
+
+    static void writeReinforcementMoves(DataOutputStream out, List<ReinforcementMove> moves) throws IOException {
+        out.writeInt(moves.size());
+        for (ReinforcementMove move : moves) {
+            out.writeInt(move.getCol());
+            out.writeInt(move.getRow());
+            out.writeInt(move.getAmount());
+        }
+    }
+
+    static void writeAttackMoves(DataOutputStream out, List<AttackMove> moves) throws IOException {
+        out.writeInt(moves.size());
+        for (AttackMove move : moves) {
+            out.writeInt(move.getOriginCol());
+            out.writeInt(move.getOriginRow());
+            out.writeInt(move.getDestCol());
+            out.writeInt(move.getDestRow());
+            out.writeInt(move.getAmount());
+        }
+    }
+
+    private static int readMoveCount(DataInputStream in, int maxMoves) throws IOException {
+        int count = in.readInt();
+        if (count == ERROR) {
+            throw new RuntimeException("Bot threw an exception");
+        }
+        if (count < 0 || count > maxMoves) {
+            throw new IOException(BAD_RESPONSE_ERROR);
+        }
+        return count;
+    }
+
+    private BotProtocol() {
+    }
+}
@@ -3,23 +3,29 @@ package rasos;
 import static rasos.ColorUtils.*;
 import static rasos.Config.ID_A;
 
-public class Cell {
+public class Cell implements CellView {
     static final String NEUTRAL_CELL_CONTAINING_SOLDIERS_ERROR = "A neutral cell must not contain any soldiers.";
     static final String CONTROLLED_CELL_WITH_ZERO_SOLDIERS_ERROR = "A cell can't be controlled by a player without having any soldiers in it";
     static final String NEGATIVE_CONTROLLING_PLAYER_ID_ERROR = "Non-positive controlling player ID is not allowed.";
     static final String NEGATIVE_AMOUNT_OF_SOLDIERS_ERROR = "Negative amount of soldiers is not allowed.";
-    private int controllingPlayerId;
-    private int numSoldiers;
+    private final Board board;
+    private final int index;
 
     Cell(int controllingPlayerId, int numSoldiers) {
+        this(new Board(1), 0);
         setValues(controllingPlayerId, numSoldiers);
     }
 
+    Cell(Board board, int index) {
+        this.board = board;
+        this.index = index;
+    }
+
     static Cell neutral() {
         return new Cell(0, 0);
     }
 
-    private void throwOnInvalidSetParams(int controllingPlayerId, int numSoldiers) {
+    static void throwOnInvalidSetParams(int controllingPlayerId, int numSoldiers) {
         if (controllingPlayerId == 0 && numSoldiers != 0)
             throw new RuntimeException(NEUTRAL_CELL_CONTAINING_SOLDIERS_ERROR);
         if (controllingPlayerId != 0 && numSoldiers == 0)
@@ -29,6 +35,18 @@ public class Cell {
         checkNotNegative(numSoldiers);
     }
 
+    static void checkNotNegative(int numSoldiers) {
+        if (numSoldiers < 0)
+            throw new RuntimeException(NEGATIVE_AMOUNT_OF_SOLDIERS_ERROR);
+    }
+
+    static String toString(int controllingPlayerId, int numSoldiers) {
+        if (controllingPlayerId == 0)
+            return "[  ]";
+        String coloredNumSoldiers = colorString(getFixedWidthNumSoldiers(numSoldiers), getColor(controllingPlayerId));
+        return String.format("[%s]", coloredNumSoldiers);
+    }
+
     @SuppressWarnings("SimplifiableIfStatement")
     @Override
     public boolean equals(Object o) {
@@ -37,81 +55,60 @@ public class Cell {
 
         Cell cell = (Cell) o;
 
-        if (controllingPlayerId != cell.controllingPlayerId) return false;
-        return numSoldiers == cell.numSoldiers;
+        if (getControllingPlayerId() != cell.getControllingPlayerId()) return false;
+        return getNumSoldiers() == cell.getNumSoldiers();
     }
 
     @Override
     public int hashCode() {
-        int result = controllingPlayerId;
-        result = 31 * result + numSoldiers;
+        int result = getControllingPlayerId();
+        result = 31 * result + getNumSoldiers();
         return result;
     }
 
     @Override
     public String toString() {
-        if (isNeutral())
-            return "[  ]";
-        String coloredNumSoldiers = colorString(getFixedWidthNumSoldiers(), getColor());
-        return String.format("[%s]", coloredNumSoldiers);
+        return toString(getControllingPlayerId(), getNumSoldiers());
     }
 
+    @Override
     public int getNumSoldiers() {
-        return numSoldiers;
+        return board.soldiersAt(index);
     }
 
+    @Override
     public int getControllingPlayerId() {
-        return controllingPlayerId;
+        return board.ownerAt(index);
     }
 
     boolean isControlledBy(int playerId) {
-        return controllingPlayerId == playerId;
+        return getControllingPlayerId() == playerId;
     }
 
     boolean isNeutral() {
-        return controllingPlayerId == 0;
+        return getControllingPlayerId() == 0;
     }
 
     void updateNumSoldiers(int numSoldiers) {
-        checkNotNegative(numSoldiers);
-        setNumSoldiersAccordingToValue(numSoldiers);
+        board.updateSoldiers(index, numSoldiers);
     }
 
     public void makeNeutral() {
-        numSoldiers = 0;
-        controllingPlayerId = 0;
+        board.makeNeutral(index);
     }
 
     public void setValues(int controllingPlayerId, int numSoldiers) {
-        throwOnInvalidSetParams(controllingPlayerId, numSoldiers);
-        this.controllingPlayerId = controllingPlayerId;
-        this.numSoldiers = numSoldiers;
-    }
-
-    private void checkNotNegative(int numSoldiers) {
-        if (numSoldiers < 0)
-            throw new RuntimeException(NEGATIVE_AMOUNT_OF_SOLDIERS_ERROR);
-    }
-
-    private void setNumSoldiersAccordingToValue(int numSoldiers) {
-        if (numSoldiers == 0) {
-            makeNeutral();
-        } else if (isNeutral()) {
-            throw new RuntimeException(NEUTRAL_CELL_CONTAINING_SOLDIERS_ERROR);
-        } else {
-            this.numSoldiers = numSoldiers;
-        }
+        board.setCell(index, controllingPlayerId, numSoldiers);
     }
 
-    private String getColor() {
+    private static String getColor(int controllingPlayerId) {
         return controllingPlayerId == ID_A ? ANSI_YELLOW : ANSI_BLUE;
     }
 
-    private String getFixedWidthNumSoldiers() {
+    private static String getFixedWidthNumSoldiers(int numSoldiers) {
         if (numSoldiers / 10 > 0) {
             return String.valueOf(numSoldiers);
         }
         return " " + numSoldiers;
     }
 }
-
@@ -1,16 +1,38 @@
 package rasos;
 
-import java.util.Objects;
-
+/**
+ * A cell's 1-based column and row. Where allocations matter, the same pair can travel packed into a single long
+ * (see {@link #pack}), for instance in a {@link CoordinateSet} or {@link CoordinateIntMap}.
+ */
 public class CellCoordinates {
-    private int rowIdx;
-    private int colIdx;
+    private final int rowIdx;
+    private final int colIdx;
 
     public CellCoordinates(int colIdx, int rowIdx) {
         this.rowIdx = rowIdx;
         this.colIdx = colIdx;
     }
 
+    public static long pack(int colIdx, int rowIdx) {
+        return ((long) colIdx << 32) | (rowIdx & 0xFFFFFFFFL);
+    }
+
+    public static int colOf(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int rowOf(long packed) {
+        return (int) packed;
+    }
+
+    public static CellCoordinates unpack(long packed) {
+        return new CellCoordinates(colOf(packed), rowOf(packed));
+    }
+
+    public long pack() {
+        return pack(colIdx, rowIdx);
+    }
+
     public int getRowIdx() {
         return rowIdx;
     }
@@ -30,7 +52,7 @@ public class CellCoordinates {
 
     @Override
     public int hashCode() {
-        return Objects.hash(rowIdx, colIdx);
+        return 31 * rowIdx + colIdx;
     }
 
     @Override
@@ -0,0 +1,7 @@
+package rasos;
+
+public interface CellView {
+    int getNumSoldiers();
+
+    int getControllingPlayerId();
+}
@@ -0,0 +1,174 @@
+package rasos;
+
+import java.util.Arrays;
+
+/**
+ * A map from {@link CellCoordinates#pack packed} coordinates to ints (soldier counts, scores, distances...), stored in
+ * an open-addressing table, so nothing is boxed. Missing keys read as 0 unless asked otherwise. Meant to be kept by a
+ * player and {@link #clear() cleared} between turns, which keeps its capacity. Not thread-safe.
+ * <pre>
+ * for (int slot = map.nextSlot(0); slot >= 0; slot = map.nextSlot(slot + 1)) map.keyAt(slot), map.valueAt(slot)
+ * </pre>
+ */
+public class CoordinateIntMap {
+    private static final int MIN_CAPACITY = 16;
+    // 0 marks a free slot; the key 0 itself is kept in the slot past all others
+    private long[] keys;
+    private int[] values;
+    private boolean containsZero;
+    private int size;
+
+    public CoordinateIntMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    public CoordinateIntMap(int expectedSize) {
+        int capacity = OpenAddressing.capacityFor(expectedSize, MIN_CAPACITY);
+        this.keys = new long[capacity];
+        this.values = new int[capacity + 1];
+    }
+
+    public int get(long packed) {
+        return getOrDefault(packed, 0);
+    }
+
+    public int getOrDefault(long packed, int defaultValue) {
+        if (packed == 0) {
+            return containsZero ? values[keys.length] : defaultValue;
+        }
+        int slot = OpenAddressing.find(keys, packed);
+        return keys[slot] == packed ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(long packed) {
+        return packed == 0 ? containsZero : keys[OpenAddressing.find(keys, packed)] == packed;
+    }
+
+    /**
+     * @return the previous value, or 0 if there was none
+     */
+    public int put(long packed, int value) {
+        int slot = findOrInsert(packed);
+        int previous = values[slot];
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * Adds {@code delta} to the value of the key, which starts at 0 when missing.
+     *
+     * @return the new value
+     */
+    public int addTo(long packed, int delta) {
+        int slot = findOrInsert(packed);
+        return values[slot] += delta;
+    }
+
+    /**
+     * @return the removed value, or 0 if there was none
+     */
+    public int remove(long packed) {
+        if (packed == 0) {
+            if (!containsZero) {
+                return 0;
+            }
+            containsZero = false;
+            size--;
+            return values[keys.length];
+        }
+        int slot = OpenAddressing.find(keys, packed);
+        if (keys[slot] != packed) {
+            return 0;
+        }
+        int removed = values[slot];
+        OpenAddressing.delete(keys, slot, values);
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, 0);
+            containsZero = false;
+            size = 0;
+        }
+    }
+
+    /**
+     * @return the first occupied slot at or after {@code fromSlot}, or -1 if none. The key 0 has the slot past all
+     * others.
+     */
+    public int nextSlot(int fromSlot) {
+        for (int slot = Math.max(fromSlot, 0); slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                return slot;
+            }
+        }
+        return containsZero && fromSlot <= keys.length ? keys.length : -1;
+    }
+
+    public long keyAt(int slot) {
+        return slot == keys.length ? 0 : keys[slot];
+    }
+
+    public int valueAt(int slot) {
+        return values[slot];
+    }
+
+    public void forEach(EntryConsumer action) {
+        for (int slot = nextSlot(0); slot >= 0; slot = nextSlot(slot + 1)) {
+            action.accept(keyAt(slot), values[slot]);
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long packed, int value);
+    }
+
+    private int findOrInsert(long packed) {
+        if (packed == 0) {
+            if (!containsZero) {
+                containsZero = true;
+                values[keys.length] = 0;
+                size++;
+            }
+            return keys.length;
+        }
+        int slot = OpenAddressing.find(keys, packed);
+        if (keys[slot] == packed) {
+            return slot;
+        }
+        if (size + 1 > keys.length / 2) {
+            grow();
+            slot = OpenAddressing.find(keys, packed);
+        }
+        keys[slot] = packed;
+        values[slot] = 0;
+        size++;
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[keys.length + 1];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != 0) {
+                int newSlot = OpenAddressing.find(keys, oldKeys[slot]);
+                keys[newSlot] = oldKeys[slot];
+                values[newSlot] = oldValues[slot];
+            }
+        }
+        values[keys.length] = oldValues[oldKeys.length];
+    }
+}
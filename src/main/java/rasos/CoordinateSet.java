@@ -0,0 +1,129 @@
+package rasos;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of {@link CellCoordinates#pack packed} coordinates, stored in an open-addressing table of longs, so adding,
+ * looking up and iterating never box. Meant to be kept by a player and {@link #clear() cleared} between turns, which
+ * keeps its capacity. Not thread-safe.
+ * <pre>
+ * for (int slot = set.nextSlot(0); slot >= 0; slot = set.nextSlot(slot + 1)) set.keyAt(slot)
+ * </pre>
+ */
+public class CoordinateSet {
+    private static final int MIN_CAPACITY = 16;
+    // 0 marks a free slot; the key 0 itself is tracked on the side
+    private long[] keys;
+    private boolean containsZero;
+    private int size;
+
+    public CoordinateSet() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    public CoordinateSet(int expectedSize) {
+        this.keys = new long[OpenAddressing.capacityFor(expectedSize, MIN_CAPACITY)];
+    }
+
+    /**
+     * @return false if the set already contained the coordinates
+     */
+    public boolean add(long packed) {
+        if (packed == 0) {
+            boolean added = !containsZero;
+            containsZero = true;
+            size += added ? 1 : 0;
+            return added;
+        }
+        int slot = OpenAddressing.find(keys, packed);
+        if (keys[slot] == packed) {
+            return false;
+        }
+        keys[slot] = packed;
+        if (++size > keys.length / 2) {
+            grow();
+        }
+        return true;
+    }
+
+    public boolean add(int colIdx, int rowIdx) {
+        return add(CellCoordinates.pack(colIdx, rowIdx));
+    }
+
+    public boolean contains(long packed) {
+        return packed == 0 ? containsZero : keys[OpenAddressing.find(keys, packed)] == packed;
+    }
+
+    public boolean contains(int colIdx, int rowIdx) {
+        return contains(CellCoordinates.pack(colIdx, rowIdx));
+    }
+
+    /**
+     * @return false if the set didn't contain the coordinates
+     */
+    public boolean remove(long packed) {
+        if (packed == 0) {
+            boolean removed = containsZero;
+            containsZero = false;
+            size -= removed ? 1 : 0;
+            return removed;
+        }
+        int slot = OpenAddressing.find(keys, packed);
+        if (keys[slot] != packed) {
+            return false;
+        }
+        OpenAddressing.delete(keys, slot, null);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, 0);
+            containsZero = false;
+            size = 0;
+        }
+    }
+
+    /**
+     * @return the first occupied slot at or after {@code fromSlot}, or -1 if none. The key 0 has the slot past all
+     * others.
+     */
+    public int nextSlot(int fromSlot) {
+        for (int slot = Math.max(fromSlot, 0); slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                return slot;
+            }
+        }
+        return containsZero && fromSlot <= keys.length ? keys.length : -1;
+    }
+
+    public long keyAt(int slot) {
+        return slot == keys.length ? 0 : keys[slot];
+    }
+
+    public void forEach(LongConsumer action) {
+        for (int slot = nextSlot(0); slot >= 0; slot = nextSlot(slot + 1)) {
+            action.accept(keyAt(slot));
+        }
+    }
+
+    private void grow() {
+        long[] old = keys;
+        keys = new long[old.length * 2];
+        for (long key : old) {
+            if (key != 0) {
+                keys[OpenAddressing.find(keys, key)] = key;
+            }
+        }
+    }
+}
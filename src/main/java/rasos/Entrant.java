@@ -0,0 +1,28 @@
+package rasos;
+
+import java.util.function.Supplier;
+
+public class Entrant {
+    private final String name;
+    private final Supplier<? extends Player> playerFactory;
+
+    public Entrant(String name, Supplier<? extends Player> playerFactory) {
+        this.name = name;
+        this.playerFactory = playerFactory;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    Player createPlayer() {
+        Player player = playerFactory.get();
+        player.setName(name);
+        return player;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
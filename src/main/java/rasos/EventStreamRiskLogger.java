@@ -0,0 +1,122 @@
+package rasos;
+
+import io.reactivex.BackpressureOverflowStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.processors.FlowableProcessor;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.schedulers.Schedulers;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes every logged event as a {@link GameEvent} to any number of subscribers. Each subscription gets its own
+ * bounded buffer and its own thread, so logging never blocks on a subscriber and a slow subscriber only loses its own
+ * oldest events (counted in {@link #getDroppedEventCount()}) without holding back the others. While nobody is
+ * subscribed, logging is a no-op.
+ */
+public class EventStreamRiskLogger implements RiskLogger, AutoCloseable {
+    static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private final FlowableProcessor<GameEvent> processor = PublishProcessor.<GameEvent>create().toSerialized();
+    private final LongAdder droppedEventCount = new LongAdder();
+    private volatile int round;
+
+    public Flowable<GameEvent> events() {
+        return events(DEFAULT_BUFFER_SIZE, Schedulers.newThread());
+    }
+
+    /**
+     * @param bufferSize the number of events buffered for this subscription before its oldest ones are dropped
+     * @param scheduler  delivers the events; use a scheduler with a thread per worker to keep subscribers independent
+     */
+    public Flowable<GameEvent> events(int bufferSize, Scheduler scheduler) {
+        return processor
+                .onBackpressureBuffer(bufferSize, droppedEventCount::increment, BackpressureOverflowStrategy.DROP_OLDEST)
+                .observeOn(scheduler, false, bufferSize);
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEventCount.sum();
+    }
+
+    @Override
+    public void logGameStart() {
+        round = 0;
+        if (processor.hasSubscribers()) {
+            processor.onNext(new GameEvent.GameStart());
+        }
+    }
+
+    @Override
+    public void logSuccessfulReinforcement(int playerId, ReinforcementMove move) {
+        if (processor.hasSubscribers()) {
+            processor.onNext(new GameEvent.Reinforcement(round, playerId, move, true));
+        }
+    }
+
+    @Override
+    public void logFailedReinforcement(int playerId, ReinforcementMove move) {
+        if (processor.hasSubscribers()) {
+            processor.onNext(new GameEvent.Reinforcement(round, playerId, move, false));
+        }
+    }
+
+    @Override
+    public void logSuccessfulAttack(int playerId, AttackMove move) {
+        if (processor.hasSubscribers()) {
+            processor.onNext(new GameEvent.Attack(round, playerId, move, true));
+        }
+    }
+
+    @Override
+    public void logFailedAttack(int playerId, AttackMove move) {
+        if (processor.hasSubscribers()) {
+            processor.onNext(new GameEvent.Attack(round, playerId, move, false));
+        }
+    }
+
+    @Override
+    public void logRoundStart() {
+        round++;
+        if (processor.hasSubscribers()) {
+            processor.onNext(new GameEvent.RoundStart(round));
+        }
+    }
+
+    @Override
+    public void logRoundEnd(Board board) {
+        if (processor.hasSubscribers()) {
+            processor.onNext(new GameEvent.RoundEnd(round, board));
+        }
+    }
+
+    @Override
+    public void logGameEnd(int winnerId) {
+        if (processor.hasSubscribers()) {
+            processor.onNext(new GameEvent.GameEnd(round, winnerId));
+        }
+    }
+
+    @Override
+    public void logPlayerReinforcementCodeException(int playerId, Exception e) {
+        if (processor.hasSubscribers()) {
+            processor.onNext(new GameEvent.PlayerCodeException(round, playerId, false, e));
+        }
+    }
+
+    @Override
+    public void logPlayerAttackCodeException(int playerId, Exception e) {
+        if (processor.hasSubscribers()) {
+            processor.onNext(new GameEvent.PlayerCodeException(round, playerId, true, e));
+        }
+    }
+
+    /**
+     * Completes the stream; subscribers still receive the events buffered for them.
+     */
+    @Override
+    public void close() {
+        processor.onComplete();
+    }
+}
@@ -0,0 +1,26 @@
+package rasos;
+
+/**
+ * Where {@link FlightRecorderEvents} sends its events. The events are opaque objects, so that nothing outside the
+ * implementation refers to JFR types.
+ */
+interface FlightRecorder {
+
+    Object beginGame();
+
+    void endGame(Object event, long gameId, int dim, int rounds, int winnerId);
+
+    Object beginRound();
+
+    void endRound(Object event, long gameId, int round);
+
+    Object beginPlayerCall();
+
+    void endPlayerCall(Object event, long gameId, int round, int playerId, RiskLogger.Phase phase, Thread worker,
+                       Iterable<?> moves, boolean timedOut);
+
+    Object beginAttackResolution();
+
+    void endAttackResolution(Object event, long gameId, int round, Iterable<AttackMove> movesA,
+                             Iterable<AttackMove> movesB);
+}
@@ -0,0 +1,71 @@
+package rasos;
+
+/**
+ * Java Flight Recorder events that tie recordings to games, rounds and players. The events are disabled until a
+ * recording enables them (e.g. {@code -XX:StartFlightRecording}), and then cost a timestamp at either end. On JVMs
+ * without JFR (before 8u262) every {@code begin*} method returns null and every {@code end*} method is a no-op.
+ * <p>
+ * The JFR events live in {@link JfrFlightRecorder}, which is only loaded, by name, once {@code jdk.jfr.Event} resolves.
+ */
+final class FlightRecorderEvents {
+    private static final String JFR_EVENT_CLASS = "jdk.jfr.Event";
+    private static final String JFR_RECORDER_CLASS = "rasos.JfrFlightRecorder";
+
+    static final FlightRecorder RECORDER = load();
+    static final boolean AVAILABLE = RECORDER != null;
+
+    private FlightRecorderEvents() {
+    }
+
+    static Object beginGame() {
+        return AVAILABLE ? RECORDER.beginGame() : null;
+    }
+
+    static void endGame(Object event, long gameId, int dim, int rounds, int winnerId) {
+        if (event != null) {
+            RECORDER.endGame(event, gameId, dim, rounds, winnerId);
+        }
+    }
+
+    static Object beginRound() {
+        return AVAILABLE ? RECORDER.beginRound() : null;
+    }
+
+    static void endRound(Object event, long gameId, int round) {
+        if (event != null) {
+            RECORDER.endRound(event, gameId, round);
+        }
+    }
+
+    static Object beginPlayerCall() {
+        return AVAILABLE ? RECORDER.beginPlayerCall() : null;
+    }
+
+    static void endPlayerCall(Object event, long gameId, int round, int playerId, RiskLogger.Phase phase,
+                              Thread worker, Iterable<?> moves, boolean timedOut) {
+        if (event != null) {
+            RECORDER.endPlayerCall(event, gameId, round, playerId, phase, worker, moves, timedOut);
+        }
+    }
+
+    static Object beginAttackResolution() {
+        return AVAILABLE ? RECORDER.beginAttackResolution() : null;
+    }
+
+    static void endAttackResolution(Object event, long gameId, int round,
+                                    Iterable<AttackMove> movesA, Iterable<AttackMove> movesB) {
+        if (event != null) {
+            RECORDER.endAttackResolution(event, gameId, round, movesA, movesB);
+        }
+    }
+
+    private static FlightRecorder load() {
+        ClassLoader loader = FlightRecorderEvents.class.getClassLoader();
+        try {
+            Class.forName(JFR_EVENT_CLASS, false, loader);
+            return (FlightRecorder) Class.forName(JFR_RECORDER_CLASS, true, loader).newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
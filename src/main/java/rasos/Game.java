@@ -1,15 +1,42 @@
 package rasos;
 
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
 class Game {
+    private static final AtomicLong gameCounter = new AtomicLong();
+
+    private final long id = gameCounter.incrementAndGet();
     private final Board board;
     private final int rounds;
     private final RoundHandler handler;
     private final GameEndChecker checker;
     private final RiskLogger logger;
+    private final StalemateDetector stalemateDetector;
+    private final long seed;
 
     Game(int dim, int soldiers, int rounds, Player playerA, int idA, Player playerB, int idB, RoundHandler handler, GameEndChecker checker, RiskLogger logger) {
+        this(dim, soldiers, rounds, playerA, idA, playerB, idB, handler, checker, logger, 0);
+    }
+
+    Game(int dim, int soldiers, int rounds, Player playerA, int idA, Player playerB, int idB, RoundHandler handler, GameEndChecker checker, RiskLogger logger, int stalemateWindow) {
+        this(dim, soldiers, rounds, playerA, idA, playerB, idB, handler, checker, logger, stalemateWindow,
+                ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * @param stalemateWindow when positive, the game ends early once the board repeats a state from the last
+     *                        {@code stalemateWindow} rounds or no cell changed hands for that many rounds
+     * @param seed            seeds the randomness of both players, see {@link Player#getRandom()}
+     */
+    Game(int dim, int soldiers, int rounds, Player playerA, int idA, Player playerB, int idB, RoundHandler handler, GameEndChecker checker, RiskLogger logger, int stalemateWindow, long seed) {
         playerA.setPlayerId(idA);
         playerB.setPlayerId(idB);
+        SplittableRandom random = new SplittableRandom(seed);
+        playerA.setRandom(random.split());
+        playerB.setRandom(random.split());
+        this.seed = seed;
         this.board = new Board(dim);
         this.checker = checker;
 
@@ -17,14 +44,36 @@ class Game {
         this.rounds = rounds;
         this.handler = handler;
         this.logger = logger;
+        this.stalemateDetector = new StalemateDetector(stalemateWindow);
     }
 
     void start() {
+        Object event = FlightRecorderEvents.beginGame();
         logger.logGameStart();
-        for (int i = 0; i < rounds && !checker.isEndOfGame(board); i++) {
-            handler.playOneRound(board);
+        handler.beginGame(id);
+        int played = 0;
+        try {
+            while (played < rounds && !checker.isEndOfGame(board)) {
+                handler.playOneRound(board);
+                played++;
+                if (stalemateDetector.isStalled(board)) {
+                    break;
+                }
+            }
+        } finally {
+            handler.endGame();
         }
-        logger.logGameEnd(checker.getWinnerId(board));
+        int winnerId = checker.getWinnerId(board);
+        logger.logGameEnd(winnerId);
+        FlightRecorderEvents.endGame(event, id, board.getDim(), played, winnerId);
+    }
+
+    long getId() {
+        return id;
+    }
+
+    long getSeed() {
+        return seed;
     }
 
     Board getBoard() {
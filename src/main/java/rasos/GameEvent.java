@@ -0,0 +1,142 @@
+package rasos;
+
+/**
+ * A {@link RiskLogger} callback as a value, published by {@link EventStreamRiskLogger}. Every event carries the round
+ * it happened in; events before the first round carry round 0.
+ */
+public abstract class GameEvent {
+    private final int round;
+
+    GameEvent(int round) {
+        this.round = round;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public static final class GameStart extends GameEvent {
+        GameStart() {
+            super(0);
+        }
+    }
+
+    public static final class RoundStart extends GameEvent {
+        RoundStart(int round) {
+            super(round);
+        }
+    }
+
+    /**
+     * Carries a read-only view over a copy of the board, since the game keeps mutating the original.
+     */
+    public static final class RoundEnd extends GameEvent {
+        private final BoardView board;
+
+        RoundEnd(int round, Board board) {
+            super(round);
+            this.board = new ReadOnlyBoardView(board.copy());
+        }
+
+        public BoardView getBoard() {
+            return board;
+        }
+    }
+
+    public static final class GameEnd extends GameEvent {
+        private final int winnerId;
+
+        GameEnd(int round, int winnerId) {
+            super(round);
+            this.winnerId = winnerId;
+        }
+
+        public int getWinnerId() {
+            return winnerId;
+        }
+    }
+
+    public static final class Reinforcement extends GameEvent {
+        private final int playerId;
+        private final ReinforcementMove move;
+        private final boolean applied;
+
+        Reinforcement(int round, int playerId, ReinforcementMove move, boolean applied) {
+            super(round);
+            this.playerId = playerId;
+            this.move = move;
+            this.applied = applied;
+        }
+
+        public int getPlayerId() {
+            return playerId;
+        }
+
+        public ReinforcementMove getMove() {
+            return move;
+        }
+
+        /**
+         * @return false if the move was rejected as invalid
+         */
+        public boolean isApplied() {
+            return applied;
+        }
+    }
+
+    public static final class Attack extends GameEvent {
+        private final int playerId;
+        private final AttackMove move;
+        private final boolean applied;
+
+        Attack(int round, int playerId, AttackMove move, boolean applied) {
+            super(round);
+            this.playerId = playerId;
+            this.move = move;
+            this.applied = applied;
+        }
+
+        public int getPlayerId() {
+            return playerId;
+        }
+
+        public AttackMove getMove() {
+            return move;
+        }
+
+        /**
+         * @return false if the move was rejected as invalid
+         */
+        public boolean isApplied() {
+            return applied;
+        }
+    }
+
+    public static final class PlayerCodeException extends GameEvent {
+        private final int playerId;
+        private final boolean duringAttack;
+        private final Exception exception;
+
+        PlayerCodeException(int round, int playerId, boolean duringAttack, Exception exception) {
+            super(round);
+            this.playerId = playerId;
+            this.duringAttack = duringAttack;
+            this.exception = exception;
+        }
+
+        public int getPlayerId() {
+            return playerId;
+        }
+
+        /**
+         * @return false if the player's reinforcement code threw
+         */
+        public boolean isDuringAttack() {
+            return duringAttack;
+        }
+
+        public Exception getException() {
+            return exception;
+        }
+    }
+}
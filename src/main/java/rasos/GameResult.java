@@ -1,7 +1,5 @@
 package rasos;
 
-import io.reactivex.Observable;
-
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
@@ -76,11 +74,7 @@ public class GameResult {
     }
 
     private int getSoldiersCount(int id) {
-        return Observable.fromIterable(board.getControlledCoordinates(id))
-                .map(cors -> board.cellAt(cors.getColIdx(), cors.getRowIdx()))
-                .map(Cell::getNumSoldiers)
-                .reduce((x, y) -> x + y)
-                .blockingGet(0);
+        return board.getPlayerSoldierCount(id);
     }
 
     private Integer scoreWinner(Integer winnerId) {
@@ -0,0 +1,164 @@
+package rasos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The {@code jdk.jfr} side of {@link FlightRecorderEvents}. Only loaded by name, since linking it fails without JFR.
+ */
+final class JfrFlightRecorder implements FlightRecorder {
+
+    @Override
+    public Object beginGame() {
+        return begin(new GameRecord());
+    }
+
+    @Override
+    public void endGame(Object event, long gameId, int dim, int rounds, int winnerId) {
+        GameRecord record = (GameRecord) event;
+        if (end(record)) {
+            record.gameId = gameId;
+            record.dim = dim;
+            record.rounds = rounds;
+            record.winnerId = winnerId;
+            record.commit();
+        }
+    }
+
+    @Override
+    public Object beginRound() {
+        return begin(new RoundRecord());
+    }
+
+    @Override
+    public void endRound(Object event, long gameId, int round) {
+        RoundRecord record = (RoundRecord) event;
+        if (end(record)) {
+            record.gameId = gameId;
+            record.round = round;
+            record.commit();
+        }
+    }
+
+    @Override
+    public Object beginPlayerCall() {
+        return begin(new PlayerCallRecord());
+    }
+
+    @Override
+    public void endPlayerCall(Object event, long gameId, int round, int playerId, RiskLogger.Phase phase,
+                              Thread worker, Iterable<?> moves, boolean timedOut) {
+        PlayerCallRecord record = (PlayerCallRecord) event;
+        if (end(record)) {
+            record.gameId = gameId;
+            record.round = round;
+            record.playerId = playerId;
+            record.phase = phase.name();
+            record.worker = worker;
+            record.moveCount = count(moves);
+            record.timedOut = timedOut;
+            record.commit();
+        }
+    }
+
+    @Override
+    public Object beginAttackResolution() {
+        return begin(new AttackResolutionRecord());
+    }
+
+    @Override
+    public void endAttackResolution(Object event, long gameId, int round,
+                                    Iterable<AttackMove> movesA, Iterable<AttackMove> movesB) {
+        AttackResolutionRecord record = (AttackResolutionRecord) event;
+        if (end(record)) {
+            record.gameId = gameId;
+            record.round = round;
+            record.moveCountA = count(movesA);
+            record.moveCountB = count(movesB);
+            record.commit();
+        }
+    }
+
+    private static <T extends Event> T begin(T event) {
+        event.begin();
+        return event;
+    }
+
+    private static boolean end(Event event) {
+        event.end();
+        return event.shouldCommit();
+    }
+
+    private static int count(Iterable<?> moves) {
+        if (moves == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Object ignored : moves) {
+            count++;
+        }
+        return count;
+    }
+
+    @Name("rasos.Game")
+    @Label("Game")
+    @Category("Rasos")
+    static class GameRecord extends Event {
+        @Label("Game Id")
+        long gameId;
+        @Label("Board Dimension")
+        int dim;
+        @Label("Rounds Played")
+        int rounds;
+        @Label("Winner Id")
+        int winnerId;
+    }
+
+    @Name("rasos.Round")
+    @Label("Round")
+    @Category("Rasos")
+    static class RoundRecord extends Event {
+        @Label("Game Id")
+        long gameId;
+        @Label("Round")
+        int round;
+    }
+
+    @Name("rasos.PlayerCall")
+    @Label("Player Call")
+    @Description("A player's onReinforcement or onAttack call, from its submission until its moves were taken or given up on")
+    @Category("Rasos")
+    static class PlayerCallRecord extends Event {
+        @Label("Game Id")
+        long gameId;
+        @Label("Round")
+        int round;
+        @Label("Player Id")
+        int playerId;
+        @Label("Phase")
+        String phase;
+        @Label("Worker Thread")
+        Thread worker;
+        @Label("Move Count")
+        int moveCount;
+        @Label("Timed Out")
+        boolean timedOut;
+    }
+
+    @Name("rasos.AttackResolution")
+    @Label("Attack Resolution")
+    @Category("Rasos")
+    static class AttackResolutionRecord extends Event {
+        @Label("Game Id")
+        long gameId;
+        @Label("Round")
+        int round;
+        @Label("Moves of Player A")
+        int moveCountA;
+        @Label("Moves of Player B")
+        int moveCountB;
+    }
+}
@@ -0,0 +1,162 @@
+package rasos;
+
+import jdk.nashorn.api.scripting.AbstractJSObject;
+
+/**
+ * The board as JS bots see it, read directly from the {@link BoardView} instead of a converted copy:
+ * <ul>
+ * <li>{@code dim}</li>
+ * <li>{@code owners[i]} and {@code soldiers[i]}, flat arrays of {@code dim * dim} cells in column-major order, i.e.
+ * {@code i = (col - 1) * dim + (row - 1)}</li>
+ * <li>{@code configuration[col - 1][row - 1]}, the old {@code {controllingPlayerId, numSoldiers}} cell objects,
+ * created lazily on access</li>
+ * </ul>
+ * The view is read-only; writes from scripts are ignored.
+ */
+class JsBoardView extends AbstractJSObject {
+    private final BoardView board;
+    private final IntArrayView owners;
+    private final IntArrayView soldiers;
+    private final ConfigurationView configuration;
+
+    JsBoardView(BoardView board) {
+        this.board = board;
+        this.owners = new IntArrayView(board.getDim() * board.getDim()) {
+            @Override
+            int get(int index) {
+                return board.ownerAt(index);
+            }
+        };
+        this.soldiers = new IntArrayView(board.getDim() * board.getDim()) {
+            @Override
+            int get(int index) {
+                return board.soldiersAt(index);
+            }
+        };
+        this.configuration = new ConfigurationView();
+    }
+
+    @Override
+    public Object getMember(String name) {
+        switch (name) {
+            case "dim":
+                return board.getDim();
+            case "owners":
+                return owners;
+            case "soldiers":
+                return soldiers;
+            case "configuration":
+                return configuration;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public boolean hasMember(String name) {
+        return getMember(name) != null;
+    }
+
+    @Override
+    public String getClassName() {
+        return "Board";
+    }
+
+    private abstract static class ArrayView extends AbstractJSObject {
+        private final int length;
+
+        ArrayView(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public Object getMember(String name) {
+            return "length".equals(name) ? length : null;
+        }
+
+        @Override
+        public boolean hasMember(String name) {
+            return "length".equals(name);
+        }
+
+        @Override
+        public boolean hasSlot(int slot) {
+            return slot >= 0 && slot < length;
+        }
+
+        @Override
+        public Object getSlot(int index) {
+            return hasSlot(index) ? getElement(index) : null;
+        }
+
+        @Override
+        public boolean isArray() {
+            return true;
+        }
+
+        abstract Object getElement(int index);
+    }
+
+    private abstract static class IntArrayView extends ArrayView {
+        IntArrayView(int length) {
+            super(length);
+        }
+
+        @Override
+        Object getElement(int index) {
+            return get(index);
+        }
+
+        abstract int get(int index);
+    }
+
+    private class ConfigurationView extends ArrayView {
+        ConfigurationView() {
+            super(board.getDim());
+        }
+
+        @Override
+        Object getElement(int col) {
+            return new ColumnView(col * board.getDim());
+        }
+    }
+
+    private class ColumnView extends ArrayView {
+        private final int firstIndex;
+
+        ColumnView(int firstIndex) {
+            super(board.getDim());
+            this.firstIndex = firstIndex;
+        }
+
+        @Override
+        Object getElement(int row) {
+            return new CellView(firstIndex + row);
+        }
+    }
+
+    private class CellView extends AbstractJSObject {
+        private final int index;
+
+        CellView(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Object getMember(String name) {
+            switch (name) {
+                case "controllingPlayerId":
+                    return board.ownerAt(index);
+                case "numSoldiers":
+                    return board.soldiersAt(index);
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public boolean hasMember(String name) {
+            return getMember(name) != null;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package rasos;
+
+import com.google.common.hash.Hashing;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Compiles every bot script once, keyed by the SHA-256 of its source, and creates {@link JsPlayer}s from it. All
+ * bots share a single engine, but every player gets its own {@link Bindings} (a separate global scope), so no state
+ * leaks between games. Each registered bot keeps a pool of bindings the script was already evaluated in, filled in
+ * the background after registration and topped up for every bindings handed out, so creating a player normally skips
+ * that step as well. Used bindings are never returned, since they carry the state of their game.
+ * <p>
+ * Evaluating a script runs its top-level code, so every evaluation runs on a {@link RecyclingExecutor} and is given
+ * up on after {@code evaluationTimeoutMillis}: a script that never finishes keeps only its own worker thread busy.
+ */
+public class JsBotRegistry {
+    static final String UNKNOWN_BOT_ERROR = "No bot was registered under %s";
+    static final String NOT_COMPILABLE_ERROR = "The script engine can't compile scripts";
+    static final String EVALUATION_TIMEOUT_ERROR = "The bot's script didn't finish evaluating in time";
+    private static final int DEFAULT_POOL_SIZE = 4;
+    private static final long DEFAULT_EVALUATION_TIMEOUT_MILLIS = 1000;
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "js-bot-evaluation-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ScriptEngine engine;
+    private final int poolSize;
+    private final ExecutorService evaluator;
+    private final long evaluationTimeoutMillis;
+    private final ConcurrentMap<String, Bot> bots = new ConcurrentHashMap<>();
+
+    JsBotRegistry() {
+        this(new ScriptEngineManager().getEngineByName("nashorn"), DEFAULT_POOL_SIZE);
+    }
+
+    JsBotRegistry(ScriptEngine engine, int poolSize) {
+        this(engine, poolSize, new RecyclingExecutor(Runtime.getRuntime().availableProcessors()),
+                DEFAULT_EVALUATION_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param evaluator runs every evaluation of a script; a {@link RecyclingExecutor}, so that evaluations that ran
+     *                  out of time don't hold on to its threads
+     */
+    JsBotRegistry(ScriptEngine engine, int poolSize, ExecutorService evaluator, long evaluationTimeoutMillis) {
+        if (!(engine instanceof Compilable)) {
+            throw new RuntimeException(NOT_COMPILABLE_ERROR);
+        }
+        this.engine = engine;
+        this.poolSize = poolSize;
+        this.evaluator = evaluator;
+        this.evaluationTimeoutMillis = evaluationTimeoutMillis;
+    }
+
+    /**
+     * @return the key to create players of this bot with. Registering the same source again is free.
+     */
+    public String register(String script) {
+        String key = Hashing.sha256().hashString(script, StandardCharsets.UTF_8).toString();
+        bots.computeIfAbsent(key, k -> new Bot(compile(script))).fill();
+        return key;
+    }
+
+    public JsPlayer createPlayer(String key, JsonParser parser, RiskLogger logger) {
+        Bot bot = bots.get(key);
+        if (bot == null) {
+            throw new RuntimeException(String.format(UNKNOWN_BOT_ERROR, key));
+        }
+        return new JsPlayer(new BindingsInvocable(bot.acquireBindings()), parser, logger);
+    }
+
+    int getBotCount() {
+        return bots.size();
+    }
+
+    int getPooledBindingsCount(String key) {
+        return bots.get(key).pool.size();
+    }
+
+    private CompiledScript compile(String script) {
+        try {
+            return ((Compilable) engine).compile(script);
+        } catch (ScriptException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    private class Bot {
+        private final CompiledScript compiledScript;
+        private final BlockingQueue<Bindings> pool;
+        // bindings in the pool plus the ones being evaluated to refill it
+        private final AtomicInteger available = new AtomicInteger();
+
+        Bot(CompiledScript compiledScript) {
+            this.compiledScript = compiledScript;
+            this.pool = new ArrayBlockingQueue<>(Math.max(poolSize, 1));
+        }
+
+        void fill() {
+            for (int i = 0; i < poolSize; i++) {
+                refill();
+            }
+        }
+
+        Bindings acquireBindings() {
+            Bindings bindings = pool.poll();
+            if (bindings == null) {
+                return evaluate();
+            }
+            available.decrementAndGet();
+            refill();
+            return bindings;
+        }
+
+        // the deadline starts once the evaluation runs, and whichever of the two settles first decides its outcome
+        private void refill() {
+            if (available.incrementAndGet() > poolSize) {
+                available.decrementAndGet();
+                return;
+            }
+            AtomicBoolean settled = new AtomicBoolean();
+            AtomicReference<Future<?>> evaluation = new AtomicReference<>();
+            try {
+                evaluation.set(evaluator.submit(() -> {
+                    ScheduledFuture<?> deadline = timer.schedule(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            available.decrementAndGet();
+                            evaluation.get().cancel(true);
+                        }
+                    }, evaluationTimeoutMillis, TimeUnit.MILLISECONDS);
+                    try {
+                        Bindings bindings = evaluateInFreshBindings();
+                        if (settled.compareAndSet(false, true)) {
+                            pool.add(bindings);
+                        }
+                    } catch (RuntimeException e) {
+                        // players of this bot are then evaluated on demand, which reports the failure to the caller
+                        if (settled.compareAndSet(false, true)) {
+                            available.decrementAndGet();
+                        }
+                    } finally {
+                        deadline.cancel(false);
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                available.decrementAndGet();
+            }
+        }
+
+        private Bindings evaluate() {
+            Future<Bindings> evaluation = evaluator.submit(this::evaluateInFreshBindings);
+            try {
+                return evaluation.get(evaluationTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                evaluation.cancel(true);
+                throw new RuntimeException(EVALUATION_TIMEOUT_ERROR);
+            } catch (InterruptedException e) {
+                evaluation.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(EVALUATION_TIMEOUT_ERROR);
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause().getMessage());
+            }
+        }
+
+        private Bindings evaluateInFreshBindings() {
+            Bindings bindings = engine.createBindings();
+            try {
+                compiledScript.eval(bindings);
+            } catch (ScriptException e) {
+                throw new RuntimeException(e.getMessage());
+            }
+            return bindings;
+        }
+    }
+}
@@ -5,7 +5,6 @@ import jdk.nashorn.api.scripting.JSObject;
 import javax.script.Invocable;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
-import java.util.Map;
 
 public class JsPlayer extends Player {
     static final String REINFORCEMENT_JS_FUNCTION_NAME = "onReinforcement";
@@ -16,9 +15,12 @@ public class JsPlayer extends Player {
     private RiskLogger logger;
 
     JsPlayer(String script, ScriptEngine engine, JsonParser parser, RiskLogger logger) {
+        this(evaluate(script, engine), parser, logger);
+    }
+
+    JsPlayer(Invocable invocable, JsonParser parser, RiskLogger logger) {
         try {
-            engine.eval(script);
-            this.invocable = (Invocable) engine;
+            this.invocable = invocable;
             this.parser = parser;
             this.logger = logger;
 
@@ -28,11 +30,20 @@ public class JsPlayer extends Player {
         }
     }
 
+    private static Invocable evaluate(String script, ScriptEngine engine) {
+        try {
+            engine.eval(script);
+            return (Invocable) engine;
+        } catch (ScriptException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
     @Override
-    public Iterable<ReinforcementMove> onReinforcement(Board board, int reinforcement) {
+    public Iterable<ReinforcementMove> onReinforcement(BoardView board, int reinforcement) {
         try {
-            Map<String, Object> mapFromBoard = parser.createMapFromBoard(board);
-            return executeJsMethod(REINFORCEMENT_JS_FUNCTION_NAME, ReinforcementMove[].class, mapFromBoard, reinforcement);
+            JSObject boardView = parser.createBoardView(board);
+            return executeJsMethod(REINFORCEMENT_JS_FUNCTION_NAME, ReinforcementMove[].class, boardView, reinforcement);
         } catch (Exception e) {
             logger.logPlayerReinforcementCodeException(getPlayerId(), e);
             throw new RuntimeException(e.getMessage());
@@ -40,10 +51,10 @@ public class JsPlayer extends Player {
     }
 
     @Override
-    public Iterable<AttackMove> onAttack(Board board) {
+    public Iterable<AttackMove> onAttack(BoardView board) {
         try {
-            Map<String, Object> mapFromBoard = parser.createMapFromBoard(board);
-            return executeJsMethod(ATTACK_JS_FUNCTION_NAME, AttackMove[].class, mapFromBoard);
+            JSObject boardView = parser.createBoardView(board);
+            return executeJsMethod(ATTACK_JS_FUNCTION_NAME, AttackMove[].class, boardView);
         } catch (Exception e) {
             logger.logPlayerAttackCodeException(getPlayerId(), e);
             throw new RuntimeException(e.getMessage());
@@ -3,11 +3,17 @@ package rasos;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jdk.nashorn.api.scripting.JSObject;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 @SuppressWarnings("unchecked")
 public class JsonParser {
+    static final String MISSING_MOVE_FIELD_ERROR = "Move %d has no numeric '%s'";
+    static final String FLAT_MOVES_LENGTH_ERROR = "A flat move list must hold %d numbers per move, got %d numbers";
+    private static final String[] REINFORCEMENT_FIELDS = {"col", "row", "amount"};
+    private static final String[] ATTACK_FIELDS = {"originCol", "originRow", "destCol", "destRow", "amount"};
 
     private ObjectMapper converter;
 
@@ -15,7 +21,19 @@ public class JsonParser {
         this.converter = new ObjectMapper();
     }
 
+    /**
+     * Decodes either an array of move objects, e.g. {@code [{col: 1, row: 2, amount: 5}]}, or a flat array of numbers
+     * holding the move fields one move after the other, e.g. {@code [1, 2, 5, 3, 3, 1]}. The fields are in the order
+     * of the move's constructor.
+     */
     public <T> Iterable<T> extractMovesFromJSResult(JSObject result, Class<T[]> moveClass) {
+        if (moveClass.equals(ReinforcementMove[].class)) {
+            return (Iterable<T>) decodeMoves(result, REINFORCEMENT_FIELDS,
+                    fields -> new ReinforcementMove(fields[0], fields[1], fields[2]));
+        } else if (moveClass.equals(AttackMove[].class)) {
+            return (Iterable<T>) decodeMoves(result, ATTACK_FIELDS,
+                    fields -> new AttackMove(fields[0], fields[1], fields[2], fields[3], fields[4]));
+        }
         T[] moves = converter.convertValue(result.values(), moveClass);
         return Arrays.asList(moves);
     }
@@ -24,4 +42,49 @@ public class JsonParser {
         return converter.convertValue(board, Map.class);
     }
 
+    public JSObject createBoardView(BoardView board) {
+        return new JsBoardView(board);
+    }
+
+    private <T> List<T> decodeMoves(JSObject result, String[] fieldNames, MoveFactory<T> factory) {
+        // arrays are read slot by slot; anything else falls back to its values, as Jackson used to read it
+        List<Object> values = result.isArray() ? null : new ArrayList<>(result.values());
+        int length = values == null ? ((Number) result.getMember("length")).intValue() : values.size();
+        boolean flat = length > 0 && elementAt(result, values, 0) instanceof Number;
+        if (flat && length % fieldNames.length != 0) {
+            throw new RuntimeException(String.format(FLAT_MOVES_LENGTH_ERROR, fieldNames.length, length));
+        }
+
+        List<T> moves = new ArrayList<>(flat ? length / fieldNames.length : length);
+        int[] fields = new int[fieldNames.length];
+        for (int i = 0; i < length; ) {
+            Object element = flat ? null : elementAt(result, values, i++);
+            for (int field = 0; field < fieldNames.length; field++) {
+                Object value;
+                if (flat) {
+                    value = elementAt(result, values, i++);
+                } else {
+                    value = element instanceof JSObject ? ((JSObject) element).getMember(fieldNames[field]) : null;
+                }
+                fields[field] = toInt(value, moves.size(), fieldNames[field]);
+            }
+            moves.add(factory.create(fields));
+        }
+        return moves;
+    }
+
+    private Object elementAt(JSObject result, List<Object> values, int index) {
+        return values == null ? result.getSlot(index) : values.get(index);
+    }
+
+    private int toInt(Object value, int moveIndex, String fieldName) {
+        if (!(value instanceof Number)) {
+            throw new RuntimeException(String.format(MISSING_MOVE_FIELD_ERROR, moveIndex, fieldName));
+        }
+        return ((Number) value).intValue();
+    }
+
+    private interface MoveFactory<T> {
+        T create(int[] fields);
+    }
 }
@@ -0,0 +1,99 @@
+package rasos;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations in power-of-two buckets: bucket {@code k} counts durations in
+ * {@code [2^(k-1), 2^k)} nanoseconds, so percentiles are accurate to within a factor of two. Recording is safe from
+ * any number of threads; a {@link Snapshot} taken while others record may be off by the values recorded meanwhile.
+ */
+public class LatencyHistogram {
+    private static final int BUCKET_COUNT = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        nanos = Math.max(nanos, 0);
+        buckets[BUCKET_COUNT - Long.numberOfLeadingZeros(nanos)].increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new Snapshot(counts, totalNanos.sum(), maxNanos.get());
+    }
+
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        Snapshot(long[] counts, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            long count = 0;
+            for (long bucketCount : counts) {
+                count += bucketCount;
+            }
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMeanNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * @param percentile between 0 and 100
+         * @return an upper bound of the duration below which {@code percentile} percent of the recorded ones fall
+         */
+        public long getPercentileNanos(double percentile) {
+            long rank = (long) Math.ceil(count * percentile / 100);
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                seen += counts[bucket];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(bucket == 0 ? 0 : (1L << bucket) - 1, maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%dus p50=%dus p99=%dus max=%dus", count,
+                    toMicros(getMeanNanos()), toMicros(getPercentileNanos(50)), toMicros(getPercentileNanos(99)),
+                    toMicros(maxNanos));
+        }
+
+        private static long toMicros(long nanos) {
+            return nanos / 1000;
+        }
+    }
+}
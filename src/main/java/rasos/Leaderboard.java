@@ -0,0 +1,115 @@
+package rasos;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates {@link GameResult} scores per entrant. Safe to update from concurrently finishing games.
+ */
+public class Leaderboard {
+    private final ConcurrentMap<Entrant, Standing> standings = new ConcurrentHashMap<>();
+
+    void register(Entrant entrant) {
+        standings.computeIfAbsent(entrant, Standing::new);
+    }
+
+    void record(Entrant a, int scoreA, Entrant b, int scoreB) {
+        standingOf(a).record(scoreA, scoreB);
+        standingOf(b).record(scoreB, scoreA);
+    }
+
+    void recordBye(Entrant entrant) {
+        standingOf(entrant).byes.increment();
+    }
+
+    public long getScore(Entrant entrant) {
+        return standingOf(entrant).getScore();
+    }
+
+    public long getByes(Entrant entrant) {
+        return standingOf(entrant).getByes();
+    }
+
+    public List<Standing> getStandings() {
+        List<Standing> res = new ArrayList<>(standings.values());
+        res.sort(Comparator.comparingLong(Standing::getScore).reversed()
+                .thenComparing(Comparator.comparingLong(Standing::getWins).reversed())
+                .thenComparing(s -> s.getEntrant().getName()));
+        return res;
+    }
+
+    private Standing standingOf(Entrant entrant) {
+        return standings.computeIfAbsent(entrant, Standing::new);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        int rank = 1;
+        for (Standing standing : getStandings()) {
+            sb.append(String.format("%3d. %s", rank++, standing)).append(System.lineSeparator());
+        }
+        return sb.toString().trim();
+    }
+
+    public static class Standing {
+        private final Entrant entrant;
+        private final LongAdder score = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+        private final LongAdder draws = new LongAdder();
+        private final LongAdder losses = new LongAdder();
+        private final LongAdder byes = new LongAdder();
+
+        private Standing(Entrant entrant) {
+            this.entrant = entrant;
+        }
+
+        private void record(int ownScore, int opponentScore) {
+            score.add(ownScore);
+            if (ownScore > opponentScore) {
+                wins.increment();
+            } else if (ownScore < opponentScore) {
+                losses.increment();
+            } else {
+                draws.increment();
+            }
+        }
+
+        public Entrant getEntrant() {
+            return entrant;
+        }
+
+        public long getScore() {
+            return score.sum();
+        }
+
+        public long getWins() {
+            return wins.sum();
+        }
+
+        public long getDraws() {
+            return draws.sum();
+        }
+
+        public long getLosses() {
+            return losses.sum();
+        }
+
+        public long getByes() {
+            return byes.sum();
+        }
+
+        public long getGamesPlayed() {
+            return getWins() + getDraws() + getLosses();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d points (%d-%d-%d)", entrant, getScore(), getWins(), getDraws(), getLosses());
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package rasos;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts moves, rounds and games, and records how long every player call and every move resolution took. Everything
+ * is kept in {@link LongAdder}s and {@link LatencyHistogram}s, so a single instance may be shared by all games of a
+ * {@link Tournament} and polled through {@link #snapshot()} while they run. Player metrics are kept by player name,
+ * i.e. by entrant in a tournament, where every game seats its entrants under the same two player ids.
+ */
+public class MetricsRiskLogger implements RiskLogger {
+    private final long createdNanos = System.nanoTime();
+    private final LongAdder successfulReinforcements = new LongAdder();
+    private final LongAdder failedReinforcements = new LongAdder();
+    private final LongAdder successfulAttacks = new LongAdder();
+    private final LongAdder failedAttacks = new LongAdder();
+    private final LongAdder playerExceptions = new LongAdder();
+    private final LongAdder rounds = new LongAdder();
+    private final LongAdder games = new LongAdder();
+    private final LatencyHistogram reinforcerLatency = new LatencyHistogram();
+    private final LatencyHistogram attackerLatency = new LatencyHistogram();
+    private final Map<String, PlayerMetrics> players = new ConcurrentHashMap<>();
+
+    @Override
+    public void logGameStart() {
+    }
+
+    @Override
+    public void logSuccessfulReinforcement(int playerId, ReinforcementMove move) {
+        successfulReinforcements.increment();
+    }
+
+    @Override
+    public void logFailedReinforcement(int playerId, ReinforcementMove move) {
+        failedReinforcements.increment();
+    }
+
+    @Override
+    public void logSuccessfulAttack(int playerId, AttackMove move) {
+        successfulAttacks.increment();
+    }
+
+    @Override
+    public void logFailedAttack(int playerId, AttackMove move) {
+        failedAttacks.increment();
+    }
+
+    @Override
+    public void logRoundStart() {
+    }
+
+    @Override
+    public void logRoundEnd(Board board) {
+        rounds.increment();
+    }
+
+    @Override
+    public void logGameEnd(int winnerId) {
+        games.increment();
+    }
+
+    @Override
+    public void logPlayerReinforcementCodeException(int playerId, Exception e) {
+        playerExceptions.increment();
+    }
+
+    @Override
+    public void logPlayerAttackCodeException(int playerId, Exception e) {
+        playerExceptions.increment();
+    }
+
+    @Override
+    public void logPlayerComputation(int playerId, String playerName, Phase phase, long nanos, boolean timedOut) {
+        PlayerMetrics metrics = players.computeIfAbsent(playerName, name -> new PlayerMetrics());
+        (phase == Phase.REINFORCEMENT ? metrics.reinforcementLatency : metrics.attackLatency).record(nanos);
+        if (timedOut) {
+            metrics.timeouts.increment();
+        }
+    }
+
+    @Override
+    public void logMoveResolution(Phase phase, long nanos) {
+        (phase == Phase.REINFORCEMENT ? reinforcerLatency : attackerLatency).record(nanos);
+    }
+
+    public Snapshot snapshot() {
+        Map<String, PlayerSnapshot> playerSnapshots = new TreeMap<>();
+        players.forEach((name, metrics) -> playerSnapshots.put(name, new PlayerSnapshot(
+                metrics.reinforcementLatency.snapshot(), metrics.attackLatency.snapshot(), metrics.timeouts.sum())));
+        return new Snapshot(this, playerSnapshots, System.nanoTime() - createdNanos);
+    }
+
+    private static class PlayerMetrics {
+        private final LatencyHistogram reinforcementLatency = new LatencyHistogram();
+        private final LatencyHistogram attackLatency = new LatencyHistogram();
+        private final LongAdder timeouts = new LongAdder();
+    }
+
+    public static final class PlayerSnapshot {
+        private final LatencyHistogram.Snapshot reinforcementLatency;
+        private final LatencyHistogram.Snapshot attackLatency;
+        private final long timeouts;
+
+        PlayerSnapshot(LatencyHistogram.Snapshot reinforcementLatency, LatencyHistogram.Snapshot attackLatency, long timeouts) {
+            this.reinforcementLatency = reinforcementLatency;
+            this.attackLatency = attackLatency;
+            this.timeouts = timeouts;
+        }
+
+        public LatencyHistogram.Snapshot getReinforcementLatency() {
+            return reinforcementLatency;
+        }
+
+        public LatencyHistogram.Snapshot getAttackLatency() {
+            return attackLatency;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+    }
+
+    public static final class Snapshot {
+        private final long successfulReinforcements;
+        private final long failedReinforcements;
+        private final long successfulAttacks;
+        private final long failedAttacks;
+        private final long playerExceptions;
+        private final long rounds;
+        private final long games;
+        private final long uptimeNanos;
+        private final LatencyHistogram.Snapshot reinforcerLatency;
+        private final LatencyHistogram.Snapshot attackerLatency;
+        private final Map<String, PlayerSnapshot> players;
+
+        private Snapshot(MetricsRiskLogger metrics, Map<String, PlayerSnapshot> players, long uptimeNanos) {
+            this.successfulReinforcements = metrics.successfulReinforcements.sum();
+            this.failedReinforcements = metrics.failedReinforcements.sum();
+            this.successfulAttacks = metrics.successfulAttacks.sum();
+            this.failedAttacks = metrics.failedAttacks.sum();
+            this.playerExceptions = metrics.playerExceptions.sum();
+            this.rounds = metrics.rounds.sum();
+            this.games = metrics.games.sum();
+            this.reinforcerLatency = metrics.reinforcerLatency.snapshot();
+            this.attackerLatency = metrics.attackerLatency.snapshot();
+            this.players = Collections.unmodifiableMap(players);
+            this.uptimeNanos = uptimeNanos;
+        }
+
+        public long getSuccessfulReinforcements() {
+            return successfulReinforcements;
+        }
+
+        public long getFailedReinforcements() {
+            return failedReinforcements;
+        }
+
+        public long getSuccessfulAttacks() {
+            return successfulAttacks;
+        }
+
+        public long getFailedAttacks() {
+            return failedAttacks;
+        }
+
+        public long getPlayerExceptions() {
+            return playerExceptions;
+        }
+
+        public long getTimeouts() {
+            return players.values().stream().mapToLong(PlayerSnapshot::getTimeouts).sum();
+        }
+
+        public long getRounds() {
+            return rounds;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * @return the games finished per second since the logger was created
+         */
+        public double getGamesPerSecond() {
+            return uptimeNanos <= 0 ? 0 : games * (double) TimeUnit.SECONDS.toNanos(1) / uptimeNanos;
+        }
+
+        public LatencyHistogram.Snapshot getReinforcerLatency() {
+            return reinforcerLatency;
+        }
+
+        public LatencyHistogram.Snapshot getAttackerLatency() {
+            return attackerLatency;
+        }
+
+        /**
+         * @return the metrics of every player that made a call so far, by player name
+         */
+        public Map<String, PlayerSnapshot> getPlayers() {
+            return players;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("games=%d (%.1f/s) rounds=%d", games, getGamesPerSecond(), rounds))
+                    .append(System.lineSeparator())
+                    .append(String.format("reinforcements: %d successful, %d failed; attacks: %d successful, %d failed; "
+                                    + "%d timeouts, %d player exceptions", successfulReinforcements, failedReinforcements,
+                            successfulAttacks, failedAttacks, getTimeouts(), playerExceptions))
+                    .append(System.lineSeparator())
+                    .append("reinforcer: ").append(reinforcerLatency).append(System.lineSeparator())
+                    .append("attacker: ").append(attackerLatency);
+            players.forEach((name, player) -> sb.append(System.lineSeparator())
+                    .append("player ").append(name).append(" reinforcement: ").append(player.reinforcementLatency)
+                    .append(System.lineSeparator())
+                    .append("player ").append(name).append(" attack: ").append(player.attackLatency)
+                    .append(", timeouts=").append(player.timeouts));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package rasos;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The neighbours of every cell of a {@code dim x dim} board, as board indices (see {@link BoardView#indexOf}) laid out
+ * back to back: the neighbours of cell {@code index} are {@code neighbourAt(index, 0)} up to
+ * {@code neighbourAt(index, neighbourCount(index) - 1)}, ordered by column and then by row. Tables are immutable and
+ * shared by all boards of the same dimension.
+ */
+public final class NeighbourTable {
+    private static final Map<Integer, NeighbourTable> tables = new ConcurrentHashMap<>();
+
+    private final int dim;
+    // neighbours of cell i are neighbours[offsets[i]] .. neighbours[offsets[i + 1] - 1]
+    private final int[] offsets;
+    private final int[] neighbours;
+
+    private NeighbourTable(int dim) {
+        this.dim = dim;
+        this.offsets = new int[dim * dim + 1];
+        int[] neighbours = new int[dim * dim * 8];
+        int size = 0;
+        for (int col = 1; col <= dim; col++) {
+            for (int row = 1; row <= dim; row++) {
+                for (int neighbourCol = col - 1; neighbourCol <= col + 1; neighbourCol++) {
+                    for (int neighbourRow = row - 1; neighbourRow <= row + 1; neighbourRow++) {
+                        boolean isSelf = neighbourCol == col && neighbourRow == row;
+                        if (!isSelf && isOnBoard(neighbourCol) && isOnBoard(neighbourRow)) {
+                            neighbours[size++] = (neighbourCol - 1) * dim + (neighbourRow - 1);
+                        }
+                    }
+                }
+                offsets[(col - 1) * dim + row] = size;
+            }
+        }
+        this.neighbours = Arrays.copyOf(neighbours, size);
+    }
+
+    public static NeighbourTable forDim(int dim) {
+        return tables.computeIfAbsent(dim, NeighbourTable::new);
+    }
+
+    public int getDim() {
+        return dim;
+    }
+
+    public int neighbourCount(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    public int neighbourAt(int index, int n) {
+        return neighbours[offsets[index] + n];
+    }
+
+    public boolean areNeighbours(int index, int otherIndex) {
+        for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+            if (neighbours[i] == otherIndex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isOnBoard(int idx) {
+        return idx > 0 && idx <= dim;
+    }
+}
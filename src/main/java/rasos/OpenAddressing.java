@@ -0,0 +1,58 @@
+package rasos;
+
+/**
+ * Linear probing over power-of-two tables of long keys, shared by {@link CoordinateSet} and {@link CoordinateIntMap}.
+ * The key 0 marks a free slot, so callers keep it aside; tables are kept at most half full, so a probe always ends.
+ */
+final class OpenAddressing {
+
+    private OpenAddressing() {
+    }
+
+    static int capacityFor(int expectedSize, int minCapacity) {
+        int capacity = minCapacity;
+        while (capacity < 2 * expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * @return the slot holding {@code key}, or the free slot where it would go
+     */
+    static int find(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Frees {@code slot} and shifts the entries probed past it back, so lookups never need tombstones.
+     *
+     * @param values moved along with the keys, unless null
+     */
+    static void delete(long[] keys, int slot, int[] values) {
+        int mask = keys.length - 1;
+        int free = slot;
+        for (int next = (free + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            // the entry may move back only if the free slot lies on its probe path, between its home and itself
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                if (values != null) {
+                    values[free] = values[next];
+                }
+                free = next;
+            }
+        }
+        keys[free] = 0;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -1,12 +1,41 @@
 package rasos;
 
+import java.util.SplittableRandom;
+
 public abstract class Player {
 
     private int playerId;
+    private String name;
+    private SplittableRandom random;
+
+    public abstract Iterable<ReinforcementMove> onReinforcement(BoardView board, int reinforcement);
 
-    public abstract Iterable<ReinforcementMove> onReinforcement(Board board, int reinforcement);
+    public abstract Iterable<AttackMove> onAttack(BoardView board);
+
+    /**
+     * Players that keep their own mirror of the board opt in here to get {@link #onBoardDelta(BoardDelta)} calls.
+     */
+    public boolean wantsBoardDeltas() {
+        return false;
+    }
 
-    public abstract Iterable<AttackMove> onAttack(Board board);
+    /**
+     * Called right before every {@link #onReinforcement} and {@link #onAttack} call of players that
+     * {@link #wantsBoardDeltas() want deltas}, with the cells that changed since the previous call.
+     */
+    public void onBoardDelta(BoardDelta delta) {
+    }
+
+    /**
+     * This player's share of the game's seeded randomness: a game replayed with the same seed hands out the same
+     * numbers. Outside of a game it is seeded arbitrarily. Not thread-safe, like the player's own calls.
+     */
+    protected final SplittableRandom getRandom() {
+        if (random == null) {
+            random = new SplittableRandom();
+        }
+        return random;
+    }
 
     int getPlayerId() {
         return playerId;
@@ -15,4 +44,19 @@ public abstract class Player {
     void setPlayerId(int playerId) {
         this.playerId = playerId;
     }
+
+    /**
+     * @return the name of the entrant this player plays for, or its player id outside of a tournament
+     */
+    String getName() {
+        return name != null ? name : String.valueOf(playerId);
+    }
+
+    void setName(String name) {
+        this.name = name;
+    }
+
+    void setRandom(SplittableRandom random) {
+        this.random = random;
+    }
 }
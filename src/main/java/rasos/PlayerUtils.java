@@ -5,42 +5,77 @@ import java.util.List;
 
 public class PlayerUtils {
     private final Player player;
+    private NeighbourTable neighbourTable;
 
     public PlayerUtils(Player player) {
         this.player = player;
     }
 
-    public Iterable<CellCoordinates> getControlledCells(Board board) {
+    public Iterable<CellCoordinates> getControlledCells(BoardView board) {
         return board.getControlledCoordinates(player.getPlayerId());
     }
 
-    public List<CellCoordinates> getNeighbours(Board b, CellCoordinates cc) {
-        List<CellCoordinates> neighbours = new ArrayList<>();
-        for (int cIdx = -1; cIdx < 2; cIdx++) {
-            for (int rIdx = -1; rIdx < 2; rIdx++) {
-                int col = cc.getColIdx() + cIdx;
-                int row = cc.getRowIdx() + rIdx;
-                if (isValidNeighbour(b, cIdx, rIdx, col, row)) {
-                    neighbours.add(new CellCoordinates(col, row));
-                }
-            }
+    public CoordinateSet getControlledCells(BoardView board, CoordinateSet into) {
+        return board.getControlledCoordinates(player.getPlayerId(), into);
+    }
+
+    public int getControlledCellCount(BoardView board) {
+        return board.getPlayerCellCount(player.getPlayerId());
+    }
+
+    public int nextControlledCell(BoardView board, int fromIndex) {
+        return board.nextControlledCell(player.getPlayerId(), fromIndex);
+    }
+
+    public List<CellCoordinates> getNeighbours(BoardView b, CellCoordinates cc) {
+        NeighbourTable table = getNeighbourTable(b);
+        int index = b.indexOf(cc.getColIdx(), cc.getRowIdx());
+        List<CellCoordinates> neighbours = new ArrayList<>(table.neighbourCount(index));
+        for (int n = 0; n < table.neighbourCount(index); n++) {
+            int neighbour = table.neighbourAt(index, n);
+            neighbours.add(new CellCoordinates(b.colOf(neighbour), b.rowOf(neighbour)));
         }
         return neighbours;
     }
 
-    private boolean isValidNeighbour(Board b, int cIdx, int rIdx, int col, int row) {
-        return notBothZero(cIdx, rIdx) && isValidBoardCoordinate(b, col, row);
+    /**
+     * Fills {@code into} (after clearing it) with the {@link CellCoordinates#pack packed} coordinates of the
+     * neighbours of the cell at {@code packed}.
+     *
+     * @return {@code into}
+     */
+    public CoordinateSet getNeighbours(BoardView b, long packed, CoordinateSet into) {
+        NeighbourTable table = getNeighbourTable(b);
+        int index = b.indexOf(CellCoordinates.colOf(packed), CellCoordinates.rowOf(packed));
+        into.clear();
+        for (int n = 0; n < table.neighbourCount(index); n++) {
+            int neighbour = table.neighbourAt(index, n);
+            into.add(b.colOf(neighbour), b.rowOf(neighbour));
+        }
+        return into;
     }
 
-    private boolean isValidBoardCoordinate(Board b, int col, int row) {
-        return isValidBoardIdx(b, col) && isValidBoardIdx(b, row);
+    /**
+     * Allocation-free access to the neighbours of a cell, in the same order as {@link #getNeighbours}:
+     * <pre>
+     * for (int n = 0; n < pu.getNeighbourCount(board, index); n++) pu.getNeighbour(board, index, n)
+     * </pre>
+     */
+    public int getNeighbourCount(BoardView b, int index) {
+        return getNeighbourTable(b).neighbourCount(index);
     }
 
-    private boolean isValidBoardIdx(Board b, int idx) {
-        return idx > 0 && idx <= b.getDim();
+    /**
+     * @return the board index of the {@code n}th neighbour of the cell at {@code index}
+     */
+    public int getNeighbour(BoardView b, int index, int n) {
+        return getNeighbourTable(b).neighbourAt(index, n);
     }
 
-    private boolean notBothZero(int n1, int n2) {
-        return n1 != 0 || n2 != 0;
+    private NeighbourTable getNeighbourTable(BoardView b) {
+        if (neighbourTable == null || neighbourTable.getDim() != b.getDim()) {
+            neighbourTable = NeighbourTable.forDim(b.getDim());
+        }
+        return neighbourTable;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package rasos;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The child side of {@link ProcessPlayer} for bots written in Java:
+ * <pre>
+ * java -Xmx64m -cp game.jar:bot.jar rasos.ProcessBotHost com.example.MyBot
+ * </pre>
+ * The bot class needs a public no-arg constructor. Whatever the bot prints goes to stderr, as stdout carries the
+ * protocol. The host exits once its stdin is closed.
+ */
+public class ProcessBotHost {
+    private final Player player;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private Board mirror = new Board(0);
+
+    ProcessBotHost(Player player, InputStream in, OutputStream out) {
+        this.player = player;
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+    }
+
+    public static void main(String[] args) throws Exception {
+        PrintStream protocolOut = System.out;
+        System.setOut(System.err);
+        Player player = (Player) Class.forName(args[0]).newInstance();
+        new ProcessBotHost(player, System.in, protocolOut).serve();
+    }
+
+    void serve() throws IOException {
+        out.writeInt(BotProtocol.MAGIC);
+        out.flush();
+        while (true) {
+            int type;
+            try {
+                type = in.readInt();
+            } catch (EOFException e) {
+                return;
+            }
+            player.setPlayerId(in.readInt());
+            int dim = in.readInt();
+            int reinforcement = type == BotProtocol.REINFORCEMENT_REQUEST ? in.readInt() : 0;
+            applyDelta(dim);
+            if (type == BotProtocol.REINFORCEMENT_REQUEST) {
+                respond(() -> BotProtocol.writeReinforcementMoves(out,
+                        toList(player.onReinforcement(new ReadOnlyBoardView(mirror), reinforcement))));
+            } else {
+                respond(() -> BotProtocol.writeAttackMoves(out, toList(player.onAttack(new ReadOnlyBoardView(mirror)))));
+            }
+            out.flush();
+        }
+    }
+
+    private void applyDelta(int dim) throws IOException {
+        if (dim != mirror.getDim()) {
+            mirror = new Board(dim);
+        }
+        int changed = in.readInt();
+        for (int i = 0; i < changed; i++) {
+            mirror.setCell(in.readInt(), in.readInt(), in.readInt());
+        }
+    }
+
+    private void respond(Response response) throws IOException {
+        try {
+            response.write();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            out.writeInt(BotProtocol.ERROR);
+        }
+    }
+
+    private static <T> List<T> toList(Iterable<T> moves) {
+        List<T> list = new ArrayList<>();
+        if (moves != null) {
+            moves.forEach(list::add);
+        }
+        return list;
+    }
+
+    private interface Response {
+        void write() throws IOException;
+    }
+}
@@ -0,0 +1,229 @@
+package rasos;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a bot in a child process, speaking {@link BotProtocol} over its stdin and stdout. The child is started once
+ * and serves every following call, across rounds and games; only the cells that changed since the previous call are
+ * sent. A call whose request and response don't make it through the pipes before its deadline gets the child killed (the engine thread can't be stuck on it) and the
+ * next call starts a fresh one. On Linux, {@code memoryLimitKb} caps the child's address space through
+ * {@code ulimit -v}; JVM bots should rather be given {@code -Xmx}, as the JVM reserves far more address space than
+ * it uses.
+ */
+public class ProcessPlayer extends Player implements AutoCloseable {
+    static final String NOT_STARTED_ERROR = "Bot process didn't start: %s";
+    static final String DEADLINE_ERROR = "Bot process missed its deadline and was killed";
+    static final long DEFAULT_CALL_TIMEOUT_MILLIS = 450;
+    static final long DEFAULT_STARTUP_TIMEOUT_MILLIS = 10_000;
+    private static final int MAX_MOVES_PER_CELL = 16;
+    private static final ScheduledExecutorService killer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "process-player-killer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final List<String> command;
+    private final long memoryLimitKb;
+    private final long callTimeoutMillis;
+    private final RiskLogger logger;
+    private Process process;
+    private DataInputStream in;
+    private DataOutputStream out;
+    private int[] sentOwners = new int[0];
+    private int[] sentSoldiers = new int[0];
+    private int sentDim;
+    private int lastDeltaSize;
+    private long startCount;
+
+    ProcessPlayer(List<String> command, RiskLogger logger) {
+        this(command, 0, DEFAULT_CALL_TIMEOUT_MILLIS, logger);
+    }
+
+    /**
+     * @param memoryLimitKb 0 for no limit
+     */
+    ProcessPlayer(List<String> command, long memoryLimitKb, long callTimeoutMillis, RiskLogger logger) {
+        this.command = command;
+        this.memoryLimitKb = memoryLimitKb;
+        this.callTimeoutMillis = callTimeoutMillis;
+        this.logger = logger;
+    }
+
+    @Override
+    public synchronized Iterable<ReinforcementMove> onReinforcement(BoardView board, int reinforcement) {
+        try {
+            ensureStarted();
+            return exchange(() -> writeRequest(BotProtocol.REINFORCEMENT_REQUEST, board, reinforcement),
+                    () -> BotProtocol.readReinforcementMoves(in, maxMoves(board)));
+        } catch (Exception e) {
+            logger.logPlayerReinforcementCodeException(getPlayerId(), e);
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized Iterable<AttackMove> onAttack(BoardView board) {
+        try {
+            ensureStarted();
+            return exchange(() -> writeRequest(BotProtocol.ATTACK_REQUEST, board, 0),
+                    () -> BotProtocol.readAttackMoves(in, maxMoves(board)));
+        } catch (Exception e) {
+            logger.logPlayerAttackCodeException(getPlayerId(), e);
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * Starts the child ahead of the first call, which otherwise pays for the startup within its deadline.
+     */
+    public synchronized void start() {
+        try {
+            ensureStarted();
+        } catch (IOException e) {
+            throw new RuntimeException(String.format(NOT_STARTED_ERROR, e.getMessage()));
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (process != null) {
+            process.destroyForcibly();
+            process = null;
+        }
+    }
+
+    List<String> getCommand() {
+        if (memoryLimitKb <= 0) {
+            return command;
+        }
+        List<String> limited = new ArrayList<>();
+        limited.add("sh");
+        limited.add("-c");
+        limited.add("ulimit -v " + memoryLimitKb + " && exec \"$0\" \"$@\"");
+        limited.addAll(command);
+        return limited;
+    }
+
+    int getLastDeltaSize() {
+        return lastDeltaSize;
+    }
+
+    long getStartCount() {
+        return startCount;
+    }
+
+    private void ensureStarted() throws IOException {
+        if (process != null && process.isAlive()) {
+            return;
+        }
+        close();
+        process = new ProcessBuilder(getCommand()).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        startCount++;
+        in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+        sentOwners = new int[0];
+        sentSoldiers = new int[0];
+        sentDim = 0;
+        int magic = exchange(() -> {
+        }, in::readInt, DEFAULT_STARTUP_TIMEOUT_MILLIS);
+        if (magic != BotProtocol.MAGIC) {
+            close();
+            throw new IOException(BotProtocol.BAD_RESPONSE_ERROR);
+        }
+    }
+
+    private void writeRequest(int type, BoardView board, int reinforcement) throws IOException {
+        int dim = board.getDim();
+        if (dim != sentDim) {
+            sentDim = dim;
+            sentOwners = new int[dim * dim];
+            sentSoldiers = new int[dim * dim];
+        }
+        out.writeInt(type);
+        out.writeInt(getPlayerId());
+        out.writeInt(dim);
+        if (type == BotProtocol.REINFORCEMENT_REQUEST) {
+            out.writeInt(reinforcement);
+        }
+        writeDelta(board);
+        out.flush();
+    }
+
+    private void writeDelta(BoardView board) throws IOException {
+        int changed = 0;
+        for (int index = 0; index < sentOwners.length; index++) {
+            if (board.ownerAt(index) != sentOwners[index] || board.soldiersAt(index) != sentSoldiers[index]) {
+                changed++;
+            }
+        }
+        out.writeInt(changed);
+        for (int index = 0; index < sentOwners.length; index++) {
+            int owner = board.ownerAt(index);
+            int soldiers = board.soldiersAt(index);
+            if (owner != sentOwners[index] || soldiers != sentSoldiers[index]) {
+                out.writeInt(index);
+                out.writeInt(owner);
+                out.writeInt(soldiers);
+                sentOwners[index] = owner;
+                sentSoldiers[index] = soldiers;
+            }
+        }
+        lastDeltaSize = changed;
+    }
+
+    private <T> T exchange(Request request, Response<T> response) throws IOException {
+        return exchange(request, response, callTimeoutMillis);
+    }
+
+    // writes to and reads from the child can't be interrupted (a child that stops reading blocks the write once the
+    // pipe is full), so one deadline covers both and is enforced by killing the child, which ends either of them.
+    // A request that wasn't fully written leaves the child's mirror behind ours, so the child is dropped then too.
+    private <T> T exchange(Request request, Response<T> response, long timeoutMillis) throws IOException {
+        Process current = process;
+        // set before the kill, as the failing write or read may see the child die before the kill task returns
+        AtomicBoolean killed = new AtomicBoolean();
+        ScheduledFuture<?> kill = killer.schedule(() -> {
+            killed.set(true);
+            current.destroyForcibly();
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        boolean written = false;
+        try {
+            request.write();
+            written = true;
+            return response.read();
+        } catch (IOException e) {
+            close();
+            throw killed.get() ? new IOException(DEADLINE_ERROR) : e;
+        } catch (RuntimeException e) {
+            if (!written || killed.get()) {
+                close();
+            }
+            throw e;
+        } finally {
+            kill.cancel(false);
+        }
+    }
+
+    private int maxMoves(BoardView board) {
+        return MAX_MOVES_PER_CELL * board.getDim() * board.getDim();
+    }
+
+    private interface Request {
+        void write() throws IOException;
+    }
+
+    private interface Response<T> {
+        T read() throws IOException;
+    }
+}
@@ -0,0 +1,147 @@
+package rasos;
+
+import java.util.function.Supplier;
+
+/**
+ * A read-only window onto a live {@link Board}, so players can't change the game state behind the engine's back.
+ * It reads the board's own storage, so creating one per player call costs a single small allocation, and any number
+ * of player threads may read it at once. The view is only valid for the board version it was created at: once the
+ * engine starts changing the board, reads through the view throw, rather than showing a half-applied phase to a bot
+ * that outlived its deadline. The version is checked both before and after every read, so a read that overlapped a
+ * write throws as well.
+ */
+class ReadOnlyBoardView implements BoardView {
+    static final String STALE_VIEW_ERROR = "The board changed since this view was handed out";
+    private final Board board;
+    private final long version;
+
+    ReadOnlyBoardView(Board board) {
+        this.board = board;
+        this.version = board.getVersion();
+    }
+
+    @Override
+    public int getDim() {
+        return board.getDim();
+    }
+
+    @Override
+    public CellView cellAt(int col, int row) {
+        return new ReadOnlyCell(indexOf(col, row));
+    }
+
+    @Override
+    public int indexOf(int col, int row) {
+        return board.indexOf(col, row);
+    }
+
+    @Override
+    public int colOf(int index) {
+        return board.colOf(index);
+    }
+
+    @Override
+    public int rowOf(int index) {
+        return board.rowOf(index);
+    }
+
+    @Override
+    public int ownerAt(int index) {
+        checkNotStale();
+        int owner = board.ownerAt(index);
+        checkNotStale();
+        return owner;
+    }
+
+    @Override
+    public int soldiersAt(int index) {
+        checkNotStale();
+        int soldiers = board.soldiersAt(index);
+        checkNotStale();
+        return soldiers;
+    }
+
+    @Override
+    public int getPlayerCellCount(int playerId) {
+        return checked(() -> board.getPlayerCellCount(playerId));
+    }
+
+    @Override
+    public int getPlayerSoldierCount(int playerId) {
+        return checked(() -> board.getPlayerSoldierCount(playerId));
+    }
+
+    @Override
+    public Iterable<CellCoordinates> getControlledCoordinates(int playerId) {
+        return checked(() -> board.getControlledCoordinates(playerId));
+    }
+
+    @Override
+    public int nextControlledCell(int playerId, int fromIndex) {
+        // spelled out rather than checked(), as bots iterate cells through it and shouldn't pay for boxing
+        checkNotStale();
+        int next;
+        try {
+            next = board.nextControlledCell(playerId, fromIndex);
+        } catch (RuntimeException e) {
+            checkNotStale();
+            throw e;
+        }
+        checkNotStale();
+        return next;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return checked(board::isEmpty);
+    }
+
+    @Override
+    public String toString() {
+        return checked(board::toString);
+    }
+
+    // reads spanning the board's counters and indexes may even fail when they overlap a write, which is reported
+    // as the view having gone stale
+    private <T> T checked(Supplier<T> read) {
+        checkNotStale();
+        T value;
+        try {
+            value = read.get();
+        } catch (RuntimeException e) {
+            checkNotStale();
+            throw e;
+        }
+        checkNotStale();
+        return value;
+    }
+
+    private void checkNotStale() {
+        if (board.getVersion() != version) {
+            throw new IllegalStateException(STALE_VIEW_ERROR);
+        }
+    }
+
+    private class ReadOnlyCell implements CellView {
+        private final int index;
+
+        ReadOnlyCell(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int getNumSoldiers() {
+            return soldiersAt(index);
+        }
+
+        @Override
+        public int getControllingPlayerId() {
+            return ownerAt(index);
+        }
+
+        @Override
+        public String toString() {
+            return Cell.toString(getControllingPlayerId(), getNumSoldiers());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package rasos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed-size pool for running player code. Cancelling a running task with {@code cancel(true)} interrupts it and
+ * immediately retires its worker thread in favour of a fresh one, so a bot that ignores interruption keeps at most
+ * its own (daemon) thread busy and never delays the tasks queued behind it.
+ */
+public class RecyclingExecutor extends AbstractExecutorService {
+    private static final Runnable STOP = () -> {
+    };
+    private static final AtomicInteger poolCounter = new AtomicInteger();
+
+    private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+    private final Set<Worker> workers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger workerCounter = new AtomicInteger();
+    private final AtomicLong replacedWorkerCount = new AtomicLong();
+    private final String namePrefix;
+    private final Object terminationLock = new Object();
+    private volatile boolean shutdown;
+    private volatile boolean stopped;
+
+    public RecyclingExecutor(int poolSize) {
+        this.namePrefix = "player-pool-" + poolCounter.incrementAndGet() + "-worker-";
+        for (int i = 0; i < poolSize; i++) {
+            startWorker();
+        }
+    }
+
+    public long getReplacedWorkerCount() {
+        return replacedWorkerCount.get();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        queue.add(command);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        for (int i = 0; i < workers.size(); i++) {
+            queue.add(STOP);
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        stopped = true;
+        List<Runnable> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        pending.remove(STOP);
+        for (Worker worker : workers) {
+            worker.interrupt();
+        }
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && workers.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (terminationLock) {
+            while (!isTerminated()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(terminationLock, remaining);
+            }
+            return true;
+        }
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return new RecyclableTask<>(Executors.callable(runnable, value));
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return new RecyclableTask<>(callable);
+    }
+
+    private void startWorker() {
+        Worker worker = new Worker(namePrefix + workerCounter.incrementAndGet());
+        workers.add(worker);
+        worker.start();
+    }
+
+    private void retire(Worker worker) {
+        if (workers.remove(worker)) {
+            worker.retired = true;
+            replacedWorkerCount.incrementAndGet();
+            if (!shutdown) {
+                startWorker();
+            }
+        }
+    }
+
+    private void onWorkerExit(Worker worker) {
+        workers.remove(worker);
+        synchronized (terminationLock) {
+            terminationLock.notifyAll();
+        }
+    }
+
+    private class Worker extends Thread {
+        private volatile boolean retired;
+
+        Worker(String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!retired && !stopped) {
+                    Runnable task = queue.take();
+                    if (task == STOP) {
+                        return;
+                    }
+                    task.run();
+                    // a cancellation may have interrupted us right as the task finished; don't leak it into the next task
+                    Thread.interrupted();
+                }
+            } catch (InterruptedException ignored) {
+            } finally {
+                onWorkerExit(this);
+            }
+        }
+    }
+
+    private class RecyclableTask<T> extends FutureTask<T> {
+        private volatile Thread runner;
+
+        RecyclableTask(Callable<T> callable) {
+            super(callable);
+        }
+
+        @Override
+        public void run() {
+            runner = Thread.currentThread();
+            super.run();
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            Thread runner = this.runner;
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && mayInterruptIfRunning && runner instanceof Worker) {
+                retire((Worker) runner);
+            }
+            return cancelled;
+        }
+    }
+}
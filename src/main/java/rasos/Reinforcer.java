@@ -8,13 +8,15 @@ public class Reinforcer {
     }
 
     void apply(Board board, int playerId, Iterable<ReinforcementMove> moves, int quota) {
+        // negative amounts give soldiers back to the quota, so it is kept as a long to stay clear of overflow
+        long remaining = quota;
         for (ReinforcementMove move : moves) {
             try {
-                Cell cell = board.cellAt(move.getCol(), move.getRow());
+                int index = board.indexOf(move.getCol(), move.getRow());
                 int amount = move.getAmount();
-                if (cell.isControlledBy(playerId) && !(amount > quota)) {
-                    cell.updateNumSoldiers(cell.getNumSoldiers() + amount);
-                    quota -= amount;
+                if (board.ownerAt(index) == playerId && !(amount > remaining)) {
+                    board.updateSoldiers(index, board.soldiersAt(index) + amount);
+                    remaining -= amount;
                     logger.logSuccessfulReinforcement(playerId, move);
                 } else {
                     logger.logFailedReinforcement(playerId, move);
@@ -23,4 +25,4 @@ public class Reinforcer {
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+package rasos;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An append-only store of many replays (see {@link ReplayRiskLogger}). Replays are packed back to back into segment
+ * files of bounded size, and a fixed-width index records where every game lives:
+ * <pre>
+ * index.bin:         (segment(int) length(int) offset(long))*   one entry per game, in the order they were appended
+ * segment-NNNNN.rpl: replay*
+ * </pre>
+ * Both are read through memory-mapped buffers, so reaching game N takes one index lookup and reaching its round R
+ * only the replay of the rounds since the closest keyframe; nothing before them is parsed.
+ */
+public class ReplayArchive implements AutoCloseable {
+    static final long DEFAULT_SEGMENT_SIZE = 64L << 20;
+    static final String INDEX_FILE = "index.bin";
+    static final int INDEX_ENTRY_SIZE = 16;
+    static final String SEGMENT_TOO_LARGE_ERROR = "Segments can't be mapped beyond 2GB";
+
+    private final Path directory;
+    private final long maxSegmentSize;
+    private final FileChannel index;
+    private final List<FileChannel> segments = new ArrayList<>();
+    private final List<MappedByteBuffer> mappedSegments = new ArrayList<>();
+    private MappedByteBuffer mappedIndex;
+    private int gameCount;
+
+    public ReplayArchive(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public ReplayArchive(Path directory, long maxSegmentSize) {
+        if (maxSegmentSize > Integer.MAX_VALUE) {
+            throw new RuntimeException(SEGMENT_TOO_LARGE_ERROR);
+        }
+        this.directory = directory;
+        this.maxSegmentSize = maxSegmentSize;
+        try {
+            Files.createDirectories(directory);
+            this.index = FileChannel.open(directory.resolve(INDEX_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // a torn trailing entry (e.g. from a crash mid-append) is ignored and later overwritten
+            this.gameCount = (int) (index.size() / INDEX_ENTRY_SIZE);
+            for (int segment = 0; Files.exists(getSegmentPath(segment)); segment++) {
+                openSegment(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A logger that appends the replay of its game to this archive once the game ended.
+     */
+    public ReplayRiskLogger newLogger(int dim, int soldiers, int idA, int idB, long seed) {
+        return new ReplayRiskLogger(this::append, dim, soldiers, idA, idB, seed,
+                ReplayRiskLogger.DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * @return the number of the appended game, counting from 0
+     */
+    public synchronized int append(byte[] replay) {
+        try {
+            FileChannel segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (segment == null || (segment.size() > 0 && segment.size() + replay.length > maxSegmentSize)) {
+                segment = openSegment(segments.size());
+            }
+            long offset = segment.size();
+            writeFully(segment, ByteBuffer.wrap(replay), offset);
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+            entry.putInt(segments.size() - 1).putInt(replay.length).putLong(offset).flip();
+            writeFully(index, entry, (long) gameCount * INDEX_ENTRY_SIZE);
+            return gameCount++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized int getGameCount() {
+        return gameCount;
+    }
+
+    public ReplayReader getGame(int game) {
+        return new ReplayReader(getReplay(game));
+    }
+
+    public Board getBoardAfterRound(int game, int round) {
+        return getGame(game).getBoardAfterRound(round);
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            index.close();
+            for (FileChannel segment : segments) {
+                segment.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    synchronized ByteBuffer getReplay(int game) {
+        if (game < 0 || game >= gameCount) {
+            throw new IndexOutOfBoundsException(String.format("Game %d is outside of 0..%d", game, gameCount - 1));
+        }
+        try {
+            int entryOffset = game * INDEX_ENTRY_SIZE;
+            if (mappedIndex == null || mappedIndex.capacity() < entryOffset + INDEX_ENTRY_SIZE) {
+                mappedIndex = index.map(FileChannel.MapMode.READ_ONLY, 0, (long) gameCount * INDEX_ENTRY_SIZE);
+            }
+            int segment = mappedIndex.getInt(entryOffset);
+            int length = mappedIndex.getInt(entryOffset + 4);
+            int offset = (int) mappedIndex.getLong(entryOffset + 8);
+
+            MappedByteBuffer mapped = mappedSegments.get(segment);
+            if (mapped == null || mapped.capacity() < offset + length) {
+                FileChannel channel = segments.get(segment);
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                mappedSegments.set(segment, mapped);
+            }
+            ByteBuffer replay = mapped.duplicate();
+            replay.position(offset).limit(offset + length);
+            return replay.slice();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private FileChannel openSegment(int segment) throws IOException {
+        FileChannel channel = FileChannel.open(getSegmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segments.add(channel);
+        mappedSegments.add(null);
+        return channel;
+    }
+
+    private Path getSegmentPath(int segment) {
+        return directory.resolve(String.format("segment-%05d.rpl", segment));
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
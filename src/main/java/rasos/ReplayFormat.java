@@ -0,0 +1,97 @@
+package rasos;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The binary replay format written by {@link ReplayRiskLogger} and read by {@link ReplayReader}. Numbers are unsigned
+ * LEB128 varints unless noted; signed ones are zigzag encoded first.
+ * <pre>
+ * header:    MAGIC(int) VERSION(byte) dim soldiers idA idB seed(long) keyframeInterval
+ * round:     ROUND round reinforcementsA reinforcementsB attacksA attacksB
+ *              reinforcements: count (col row amount)*
+ *              attacks:        count (originCol originRow zigzag(destCol - originCol) zigzag(destRow - originRow) amount)*
+ * keyframe:  KEYFRAME round controlledCount (index - previousIndex, owner, soldiers)*   the board after that round
+ * end:       END rounds winnerId
+ * index:     keyframeCount(int) (round(int) offset(int))* indexOffset(int) MAGIC(int)           fixed width
+ * </pre>
+ * Only moves that took effect are recorded; replaying them through {@link Reinforcer} and {@link Attacker} rebuilds
+ * the same boards. Round 0 is the board right after the home bases were populated, and is rebuilt from the header.
+ */
+class ReplayFormat {
+    static final int MAGIC = 0x52535250;
+    static final byte VERSION = 1;
+    static final byte ROUND = 1;
+    static final byte KEYFRAME = 2;
+    static final byte END = 3;
+    static final String NOT_A_REPLAY_ERROR = "Not a replay";
+
+    static class Writer {
+        private byte[] bytes = new byte[256];
+        private int position;
+
+        int position() {
+            return position;
+        }
+
+        void writeByte(int b) {
+            ensureCapacity(1);
+            bytes[position++] = (byte) b;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[position++] = (byte) value;
+        }
+
+        void writeZigZag(int value) {
+            writeVarInt((value << 1) ^ (value >> 31));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + extra));
+            }
+        }
+    }
+
+    static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new RuntimeException(NOT_A_REPLAY_ERROR);
+    }
+
+    static int readZigZag(ByteBuffer buffer) {
+        int value = readVarInt(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private ReplayFormat() {
+    }
+}
@@ -0,0 +1,204 @@
+package rasos;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rebuilds the board of any round of a replay written by {@link ReplayRiskLogger}: it starts from the closest
+ * keyframe at or before that round and replays the recorded moves from there on. The buffer is only read through
+ * absolute positions and duplicates, so it may be a slice of a larger (e.g. memory-mapped) buffer.
+ */
+public class ReplayReader {
+    private final ByteBuffer buffer;
+    private final int dim;
+    private final int soldiers;
+    private final int idA;
+    private final int idB;
+    private final long seed;
+    private final int firstRoundOffset;
+    private final int roundCount;
+    private final int winnerId;
+    private final int[] keyframeRounds;
+    private final int[] keyframeOffsets;
+    private final Reinforcer reinforcer = new Reinforcer(new SilentRiskLogger());
+    private final Attacker attacker = new Attacker(new SilentRiskLogger());
+
+    public ReplayReader(ByteBuffer replay) {
+        this.buffer = replay.slice();
+        ByteBuffer header = buffer.duplicate();
+        if (header.remaining() < 8 || header.getInt() != ReplayFormat.MAGIC || header.get() != ReplayFormat.VERSION
+                || buffer.getInt(buffer.limit() - 4) != ReplayFormat.MAGIC) {
+            throw new RuntimeException(ReplayFormat.NOT_A_REPLAY_ERROR);
+        }
+        this.dim = ReplayFormat.readVarInt(header);
+        this.soldiers = ReplayFormat.readVarInt(header);
+        this.idA = ReplayFormat.readVarInt(header);
+        this.idB = ReplayFormat.readVarInt(header);
+        this.seed = header.getLong();
+        ReplayFormat.readVarInt(header);
+        this.firstRoundOffset = header.position();
+
+        ByteBuffer index = buffer.duplicate();
+        index.position(buffer.getInt(buffer.limit() - 8));
+        int keyframeCount = index.getInt();
+        this.keyframeRounds = new int[keyframeCount];
+        this.keyframeOffsets = new int[keyframeCount];
+        for (int i = 0; i < keyframeCount; i++) {
+            keyframeRounds[i] = index.getInt();
+            keyframeOffsets[i] = index.getInt();
+        }
+
+        ByteBuffer end = buffer.duplicate();
+        end.position(findEnd());
+        end.get();
+        this.roundCount = ReplayFormat.readVarInt(end);
+        this.winnerId = ReplayFormat.readVarInt(end);
+    }
+
+    public int getDim() {
+        return dim;
+    }
+
+    public int getSoldiers() {
+        return soldiers;
+    }
+
+    public int getIdA() {
+        return idA;
+    }
+
+    public int getIdB() {
+        return idB;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getRoundCount() {
+        return roundCount;
+    }
+
+    public int getWinnerId() {
+        return winnerId;
+    }
+
+    /**
+     * @param round 0 for the board the game started with, up to {@link #getRoundCount()}
+     */
+    public Board getBoardAfterRound(int round) {
+        if (round < 0 || round > roundCount) {
+            throw new IndexOutOfBoundsException(String.format("Round %d is outside of 0..%d", round, roundCount));
+        }
+        ByteBuffer records = buffer.duplicate();
+        Board board;
+        int keyframe = findKeyframe(round);
+        if (keyframe < 0) {
+            board = new Board(dim);
+            board.populateHomeBases(soldiers, idA, idB);
+            records.position(firstRoundOffset);
+        } else {
+            records.position(keyframeOffsets[keyframe]);
+            board = readKeyframe(records);
+        }
+
+        while (records.get(records.position()) != ReplayFormat.END) {
+            byte tag = records.get();
+            int recordRound = ReplayFormat.readVarInt(records);
+            if (recordRound > round) {
+                break;
+            }
+            if (tag == ReplayFormat.KEYFRAME) {
+                skipKeyframe(records);
+            } else {
+                replayRound(records, board);
+            }
+        }
+        return board;
+    }
+
+    private int findKeyframe(int round) {
+        int found = -1;
+        for (int i = 0; i < keyframeRounds.length && keyframeRounds[i] <= round; i++) {
+            found = i;
+        }
+        return found;
+    }
+
+    private int findEnd() {
+        int indexOffset = buffer.getInt(buffer.limit() - 8);
+        ByteBuffer records = buffer.duplicate();
+        records.position(keyframeRounds.length == 0 ? firstRoundOffset : keyframeOffsets[keyframeRounds.length - 1]);
+        while (records.position() < indexOffset) {
+            int position = records.position();
+            byte tag = records.get();
+            if (tag == ReplayFormat.END) {
+                return position;
+            }
+            ReplayFormat.readVarInt(records);
+            if (tag == ReplayFormat.KEYFRAME) {
+                skipKeyframe(records);
+            } else {
+                replayRound(records, null);
+            }
+        }
+        throw new RuntimeException(ReplayFormat.NOT_A_REPLAY_ERROR);
+    }
+
+    private Board readKeyframe(ByteBuffer records) {
+        records.get();
+        ReplayFormat.readVarInt(records);
+        Board board = new Board(dim);
+        int controlled = ReplayFormat.readVarInt(records);
+        int index = 0;
+        for (int i = 0; i < controlled; i++) {
+            index += ReplayFormat.readVarInt(records);
+            board.setCell(index, ReplayFormat.readVarInt(records), ReplayFormat.readVarInt(records));
+        }
+        return board;
+    }
+
+    private void skipKeyframe(ByteBuffer records) {
+        int controlled = ReplayFormat.readVarInt(records);
+        for (int i = 0; i < controlled * 3; i++) {
+            ReplayFormat.readVarInt(records);
+        }
+    }
+
+    // with a null board the round is only skipped over
+    private void replayRound(ByteBuffer records, Board board) {
+        List<ReinforcementMove> reinforcementsA = readReinforcements(records);
+        List<ReinforcementMove> reinforcementsB = readReinforcements(records);
+        List<AttackMove> attacksA = readAttacks(records);
+        List<AttackMove> attacksB = readAttacks(records);
+        if (board != null) {
+            reinforcer.apply(board, idA, reinforcementsA, Integer.MAX_VALUE);
+            reinforcer.apply(board, idB, reinforcementsB, Integer.MAX_VALUE);
+            attacker.apply(board, attacksA, attacksB, idA, idB);
+        }
+    }
+
+    private List<ReinforcementMove> readReinforcements(ByteBuffer records) {
+        int count = ReplayFormat.readVarInt(records);
+        List<ReinforcementMove> moves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            moves.add(new ReinforcementMove(ReplayFormat.readVarInt(records), ReplayFormat.readVarInt(records),
+                    ReplayFormat.readVarInt(records)));
+        }
+        return moves;
+    }
+
+    private List<AttackMove> readAttacks(ByteBuffer records) {
+        int count = ReplayFormat.readVarInt(records);
+        List<AttackMove> moves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int originCol = ReplayFormat.readVarInt(records);
+            int originRow = ReplayFormat.readVarInt(records);
+            int destCol = originCol + ReplayFormat.readZigZag(records);
+            int destRow = originRow + ReplayFormat.readZigZag(records);
+            moves.add(new AttackMove(originCol, originRow, destCol, destRow, ReplayFormat.readVarInt(records)));
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,209 @@
+package rasos;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Records a game as a compact binary replay (see {@link ReplayFormat}) and hands it over in one piece once the game
+ * ended, either to a stream or to a {@link ReplayArchive}. A keyframe of the whole board is stored every
+ * {@code keyframeInterval} rounds, so {@link ReplayReader} never has to replay more than that many rounds to rebuild any of them.
+ */
+public class ReplayRiskLogger implements RiskLogger {
+    static final int DEFAULT_KEYFRAME_INTERVAL = 16;
+    private final Consumer<byte[]> sink;
+    private final int idA;
+    private final int idB;
+    private final int keyframeInterval;
+    private final ReplayFormat.Writer writer = new ReplayFormat.Writer();
+    private final ReplayFormat.Writer keyframeIndex = new ReplayFormat.Writer();
+    private int keyframeCount;
+    private int round;
+    private final MoveBuffer reinforcementsA = new MoveBuffer();
+    private final MoveBuffer reinforcementsB = new MoveBuffer();
+    private final MoveBuffer attacksA = new MoveBuffer();
+    private final MoveBuffer attacksB = new MoveBuffer();
+
+    ReplayRiskLogger(OutputStream out, int dim, int soldiers, int idA, int idB, long seed) {
+        this(out, dim, soldiers, idA, idB, seed, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    ReplayRiskLogger(OutputStream out, int dim, int soldiers, int idA, int idB, long seed, int keyframeInterval) {
+        this(replay -> write(out, replay), dim, soldiers, idA, idB, seed, keyframeInterval);
+    }
+
+    /**
+     * @param sink receives the whole replay once the game ended
+     */
+    ReplayRiskLogger(Consumer<byte[]> sink, int dim, int soldiers, int idA, int idB, long seed, int keyframeInterval) {
+        this.sink = sink;
+        this.idA = idA;
+        this.idB = idB;
+        this.keyframeInterval = keyframeInterval;
+        writer.writeInt(ReplayFormat.MAGIC);
+        writer.writeByte(ReplayFormat.VERSION);
+        writer.writeVarInt(dim);
+        writer.writeVarInt(soldiers);
+        writer.writeVarInt(idA);
+        writer.writeVarInt(idB);
+        writer.writeLong(seed);
+        writer.writeVarInt(keyframeInterval);
+    }
+
+    @Override
+    public void logGameStart() {
+    }
+
+    @Override
+    public void logSuccessfulReinforcement(int playerId, ReinforcementMove move) {
+        MoveBuffer moves = playerId == idA ? reinforcementsA : playerId == idB ? reinforcementsB : null;
+        if (moves != null) {
+            moves.add(move.getCol(), move.getRow(), move.getAmount());
+        }
+    }
+
+    @Override
+    public void logFailedReinforcement(int playerId, ReinforcementMove move) {
+    }
+
+    @Override
+    public void logSuccessfulAttack(int playerId, AttackMove move) {
+        MoveBuffer moves = playerId == idA ? attacksA : playerId == idB ? attacksB : null;
+        if (moves != null) {
+            moves.add(move.getOriginCol(), move.getOriginRow(), move.getDestCol() - move.getOriginCol(),
+                    move.getDestRow() - move.getOriginRow(), move.getAmount());
+        }
+    }
+
+    @Override
+    public void logFailedAttack(int playerId, AttackMove move) {
+    }
+
+    @Override
+    public void logRoundStart() {
+        round++;
+    }
+
+    @Override
+    public void logRoundEnd(Board board) {
+        writer.writeByte(ReplayFormat.ROUND);
+        writer.writeVarInt(round);
+        writeReinforcements(reinforcementsA);
+        writeReinforcements(reinforcementsB);
+        writeAttacks(attacksA);
+        writeAttacks(attacksB);
+        if (keyframeInterval > 0 && round % keyframeInterval == 0) {
+            writeKeyframe(board);
+        }
+    }
+
+    @Override
+    public void logGameEnd(int winnerId) {
+        writer.writeByte(ReplayFormat.END);
+        writer.writeVarInt(round);
+        writer.writeVarInt(winnerId);
+        int indexOffset = writer.position();
+        writer.writeInt(keyframeCount);
+        byte[] index = keyframeIndex.toByteArray();
+        for (byte b : index) {
+            writer.writeByte(b);
+        }
+        writer.writeInt(indexOffset);
+        writer.writeInt(ReplayFormat.MAGIC);
+        sink.accept(writer.toByteArray());
+    }
+
+    @Override
+    public void logPlayerReinforcementCodeException(int playerId, Exception e) {
+    }
+
+    @Override
+    public void logPlayerAttackCodeException(int playerId, Exception e) {
+    }
+
+    private static void write(OutputStream out, byte[] replay) {
+        try {
+            out.write(replay);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeReinforcements(MoveBuffer moves) {
+        writer.writeVarInt(moves.count);
+        for (int i = 0; i < moves.count * 3; i += 3) {
+            writer.writeVarInt(moves.fields[i]);
+            writer.writeVarInt(moves.fields[i + 1]);
+            writer.writeVarInt(moves.fields[i + 2]);
+        }
+        moves.clear();
+    }
+
+    private void writeAttacks(MoveBuffer moves) {
+        writer.writeVarInt(moves.count);
+        for (int i = 0; i < moves.count * 5; i += 5) {
+            writer.writeVarInt(moves.fields[i]);
+            writer.writeVarInt(moves.fields[i + 1]);
+            writer.writeZigZag(moves.fields[i + 2]);
+            writer.writeZigZag(moves.fields[i + 3]);
+            writer.writeVarInt(moves.fields[i + 4]);
+        }
+        moves.clear();
+    }
+
+    private void writeKeyframe(Board board) {
+        keyframeIndex.writeInt(round);
+        keyframeIndex.writeInt(writer.position());
+        keyframeCount++;
+        writer.writeByte(ReplayFormat.KEYFRAME);
+        writer.writeVarInt(round);
+        writer.writeVarInt(board.getCellCount() - board.getPlayerCellCount(0));
+        int previousIndex = 0;
+        for (int index = 0; index < board.getCellCount(); index++) {
+            if (board.ownerAt(index) != 0) {
+                writer.writeVarInt(index - previousIndex);
+                writer.writeVarInt(board.ownerAt(index));
+                writer.writeVarInt(board.soldiersAt(index));
+                previousIndex = index;
+            }
+        }
+    }
+
+    private static class MoveBuffer {
+        private int[] fields = new int[40];
+        private int count;
+        private int size;
+
+        void add(int col, int row, int amount) {
+            ensureCapacity(3);
+            fields[size++] = col;
+            fields[size++] = row;
+            fields[size++] = amount;
+            count++;
+        }
+
+        void add(int originCol, int originRow, int colDelta, int rowDelta, int amount) {
+            ensureCapacity(5);
+            fields[size++] = originCol;
+            fields[size++] = originRow;
+            fields[size++] = colDelta;
+            fields[size++] = rowDelta;
+            fields[size++] = amount;
+            count++;
+        }
+
+        void clear() {
+            count = 0;
+            size = 0;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > fields.length) {
+                fields = Arrays.copyOf(fields, fields.length * 2);
+            }
+        }
+    }
+}
@@ -20,4 +20,25 @@ public interface RiskLogger {
     void logPlayerReinforcementCodeException(int playerId, Exception e);
 
     void logPlayerAttackCodeException(int eq, Exception e);
+
+    /**
+     * Called by {@link RoundHandler} once a player's call returned, threw or ran out of time.
+     *
+     * @param playerName the name the player's metrics are kept under, which outlives the seat ({@code playerId}) it
+     *                   took in this game
+     * @param nanos      the time the player's code ran, up to the moment it was given up on when {@code timedOut}
+     */
+    default void logPlayerComputation(int playerId, String playerName, Phase phase, long nanos, boolean timedOut) {
+    }
+
+    /**
+     * Called by {@link RoundHandler} after both players' moves of a phase were applied to the board.
+     */
+    default void logMoveResolution(Phase phase, long nanos) {
+    }
+
+    enum Phase {
+        REINFORCEMENT,
+        ATTACK
+    }
 }
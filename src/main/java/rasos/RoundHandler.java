@@ -1,17 +1,19 @@
 package rasos;
 
-import com.google.common.collect.Lists;
-
 import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
 
 public class RoundHandler {
 
-    private static final int COMPUTATION_TIMEOUT_MILLIS = 500;
+    private static final long COMPUTATION_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
     private final int idA;
     private final int idB;
     private final Player playerA;
@@ -20,6 +22,12 @@ public class RoundHandler {
     private final Attacker attacker;
     private final ExecutorService executor;
     private final RiskLogger logger;
+    private final boolean simultaneousReinforcement;
+    private BoardChangeJournal journalA;
+    private BoardChangeJournal journalB;
+    // only used to tag flight recorder events
+    private long gameId;
+    private int round;
 
     RoundHandler(int idA,
                  int idB,
@@ -29,6 +37,23 @@ public class RoundHandler {
                  Attacker attacker,
                  ExecutorService executor,
                  RiskLogger logger) {
+        this(idA, idB, playerA, playerB, reinforcer, attacker, executor, logger, false);
+    }
+
+    /**
+     * @param simultaneousReinforcement when set, both players compute their reinforcements concurrently against the
+     *                                  same board, and neither sees the other's reinforcements before the attack
+     *                                  phase. Otherwise player B reinforces after player A's moves were applied.
+     */
+    RoundHandler(int idA,
+                 int idB,
+                 Player playerA,
+                 Player playerB,
+                 Reinforcer reinforcer,
+                 Attacker attacker,
+                 ExecutorService executor,
+                 RiskLogger logger,
+                 boolean simultaneousReinforcement) {
         this.idA = idA;
         this.idB = idB;
         this.playerA = playerA;
@@ -37,51 +62,189 @@ public class RoundHandler {
         this.attacker = attacker;
         this.executor = executor;
         this.logger = logger;
+        this.simultaneousReinforcement = simultaneousReinforcement;
+    }
+
+    void beginGame(long gameId) {
+        this.gameId = gameId;
+        this.round = 0;
+    }
+
+    void endGame() {
+        journalA = detach(journalA);
+        journalB = detach(journalB);
     }
 
     public void playOneRound(Board board) {
+        round++;
+        Object event = FlightRecorderEvents.beginRound();
         logger.logRoundStart();
         reinforce(board);
         attack(board);
         logger.logRoundEnd(board);
+        FlightRecorderEvents.endRound(event, gameId, round);
     }
 
     private void reinforce(Board board) {
-        for (Player player : Lists.newArrayList(playerA, playerB)) {
+        if (simultaneousReinforcement) {
+            reinforceSimultaneously(board);
+        } else {
+            reinforceInTurns(board);
+        }
+    }
+
+    private void reinforceInTurns(Board board) {
+        for (Player player : new Player[]{playerA, playerB}) {
             int id = player.getPlayerId();
             int quota = board.getPlayerCellCount(id);
-            Iterable<ReinforcementMove> moves = getReinforcementMoves(player, board, quota);
+            PlayerCall<ReinforcementMove> call = submitReinforcement(player, board, quota);
+            Iterable<ReinforcementMove> moves = call.await();
+            long start = System.nanoTime();
             reinforcer.apply(board, id, moves, quota);
+            logger.logMoveResolution(RiskLogger.Phase.REINFORCEMENT, System.nanoTime() - start);
         }
     }
 
+    private void reinforceSimultaneously(Board board) {
+        int quotaA = board.getPlayerCellCount(playerA.getPlayerId());
+        int quotaB = board.getPlayerCellCount(playerB.getPlayerId());
+        PlayerCall<ReinforcementMove> callA = submitReinforcement(playerA, board, quotaA);
+        PlayerCall<ReinforcementMove> callB = submitReinforcement(playerB, board, quotaB);
+        Iterable<ReinforcementMove> movesA = callA.await();
+        Iterable<ReinforcementMove> movesB = callB.await();
+        long start = System.nanoTime();
+        reinforcer.apply(board, playerA.getPlayerId(), movesA, quotaA);
+        reinforcer.apply(board, playerB.getPlayerId(), movesB, quotaB);
+        logger.logMoveResolution(RiskLogger.Phase.REINFORCEMENT, System.nanoTime() - start);
+    }
+
     private void attack(Board board) {
-        Iterable<AttackMove> movesA = getAttackMoves(playerA, board);
-        Iterable<AttackMove> movesB = getAttackMoves(playerB, board);
+        PlayerCall<AttackMove> callA = submitAttack(playerA, board);
+        PlayerCall<AttackMove> callB = submitAttack(playerB, board);
+        Iterable<AttackMove> movesA = callA.await();
+        Iterable<AttackMove> movesB = callB.await();
+        Object event = FlightRecorderEvents.beginAttackResolution();
+        long start = System.nanoTime();
         attacker.apply(board, movesA, movesB, idA, idB);
+        logger.logMoveResolution(RiskLogger.Phase.ATTACK, System.nanoTime() - start);
+        FlightRecorderEvents.endAttackResolution(event, gameId, round, movesA, movesB);
     }
 
-    private Iterable<ReinforcementMove> getReinforcementMoves(Player player, Board board, int quota) {
-        try {
-            AtomicReference<Iterable<ReinforcementMove>> moves = new AtomicReference<>();
-            executor.submit(() -> moves.set(player.onReinforcement(board, quota)))
-                    .get(COMPUTATION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
-            requireNonNull(moves.get());
-            return moves.get();
-        } catch (Exception e) {
-            return Collections.emptyList();
+    private PlayerCall<ReinforcementMove> submitReinforcement(Player player, Board board, int quota) {
+        BoardView view = new ReadOnlyBoardView(board);
+        BoardChangeJournal journal = getJournal(player, board);
+        BoardDelta delta = journal == null ? null : journal.drain();
+        return new PlayerCall<>(player, RiskLogger.Phase.REINFORCEMENT, () -> {
+            deliver(player, journal, delta);
+            return player.onReinforcement(view, quota);
+        });
+    }
+
+    private PlayerCall<AttackMove> submitAttack(Player player, Board board) {
+        BoardView view = new ReadOnlyBoardView(board);
+        BoardChangeJournal journal = getJournal(player, board);
+        BoardDelta delta = journal == null ? null : journal.drain();
+        return new PlayerCall<>(player, RiskLogger.Phase.ATTACK, () -> {
+            deliver(player, journal, delta);
+            return player.onAttack(view);
+        });
+    }
+
+    private BoardChangeJournal getJournal(Player player, Board board) {
+        if (!player.wantsBoardDeltas()) {
+            return null;
+        }
+        if (player == playerA) {
+            journalA = getJournal(journalA, board);
+            return journalA;
         }
+        journalB = getJournal(journalB, board);
+        return journalB;
     }
 
-    private Iterable<AttackMove> getAttackMoves(Player player, Board board) {
-        try {
-            AtomicReference<Iterable<AttackMove>> moves = new AtomicReference<>();
-            executor.submit(() -> moves.set(player.onAttack(board)))
-                    .get(COMPUTATION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
-            requireNonNull(moves.get());
-            return moves.get();
-        } catch (Exception e) {
-            return Collections.emptyList();
+    // a handler may be reused for a new game on a new board; the first delta on it is then a full snapshot again
+    private BoardChangeJournal getJournal(BoardChangeJournal journal, Board board) {
+        if (journal != null && journal.getBoard() == board) {
+            return journal;
+        }
+        detach(journal);
+        return board.attachJournal();
+    }
+
+    private static BoardChangeJournal detach(BoardChangeJournal journal) {
+        if (journal != null) {
+            journal.getBoard().detachJournal(journal);
+        }
+        return null;
+    }
+
+    private void deliver(Player player, BoardChangeJournal journal, BoardDelta delta) {
+        if (delta != null) {
+            player.onBoardDelta(delta);
+            journal.acknowledge(delta);
+        }
+    }
+
+    private class PlayerCall<T> {
+        private final AtomicReference<Iterable<T>> moves = new AtomicReference<>();
+        private final Player player;
+        private final RiskLogger.Phase phase;
+        private final Future<?> future;
+        private final Object event = FlightRecorderEvents.beginPlayerCall();
+        private final long submitted = System.nanoTime();
+        private final CountDownLatch start = new CountDownLatch(1);
+        // the submission time until the player's code starts running
+        private volatile long started = submitted;
+        private volatile long elapsed = -1;
+        private volatile Thread worker;
+
+        PlayerCall(Player player, RiskLogger.Phase phase, Supplier<Iterable<T>> computation) {
+            this.player = player;
+            this.phase = phase;
+            this.future = executor.submit(() -> {
+                started = System.nanoTime();
+                worker = Thread.currentThread();
+                start.countDown();
+                try {
+                    moves.set(computation.get());
+                } finally {
+                    elapsed = System.nanoTime() - started;
+                }
+            });
+        }
+
+        /**
+         * Every call gets its full computation window from the moment the player's code starts running, so a call
+         * queued behind the opponent's (e.g. on a single worker thread) doesn't inherit the opponent's slowness. A call
+         * that doesn't start within one extra window (the most the call ahead of it may take) is given up on.
+         */
+        Iterable<T> await() {
+            boolean timedOut = false;
+            try {
+                if (!start.await(submitted + 2 * COMPUTATION_TIMEOUT_NANOS - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    throw new TimeoutException();
+                }
+                future.get(started + COMPUTATION_TIMEOUT_NANOS - System.nanoTime(), TimeUnit.NANOSECONDS);
+                requireNonNull(moves.get());
+                return moves.get();
+            } catch (TimeoutException e) {
+                // interrupt the runaway computation; a RecyclingExecutor also replaces its worker thread
+                future.cancel(true);
+                timedOut = true;
+                return Collections.emptyList();
+            } catch (Exception e) {
+                return Collections.emptyList();
+            } finally {
+                logComputation(timedOut);
+            }
+        }
+
+        private void logComputation(boolean timedOut) {
+            long elapsed = this.elapsed;
+            logger.logPlayerComputation(player.getPlayerId(), player.getName(), phase,
+                    timedOut || elapsed < 0 ? System.nanoTime() - started : elapsed, timedOut);
+            FlightRecorderEvents.endPlayerCall(event, gameId, round, player.getPlayerId(), phase, worker,
+                    timedOut ? null : moves.get(), timedOut);
         }
     }
 }
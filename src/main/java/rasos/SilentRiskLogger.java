@@ -0,0 +1,43 @@
+package rasos;
+
+public class SilentRiskLogger implements RiskLogger {
+    @Override
+    public void logGameStart() {
+    }
+
+    @Override
+    public void logSuccessfulReinforcement(int playerId, ReinforcementMove movesToLog) {
+    }
+
+    @Override
+    public void logFailedReinforcement(int playerId, ReinforcementMove move) {
+    }
+
+    @Override
+    public void logSuccessfulAttack(int playerId, AttackMove move) {
+    }
+
+    @Override
+    public void logFailedAttack(int playerId, AttackMove move) {
+    }
+
+    @Override
+    public void logRoundStart() {
+    }
+
+    @Override
+    public void logRoundEnd(Board board) {
+    }
+
+    @Override
+    public void logGameEnd(int winnerId) {
+    }
+
+    @Override
+    public void logPlayerReinforcementCodeException(int playerId, Exception e) {
+    }
+
+    @Override
+    public void logPlayerAttackCodeException(int eq, Exception e) {
+    }
+}
@@ -0,0 +1,48 @@
+package rasos;
+
+/**
+ * Ends games that stopped going anywhere, judged by the board hashes after every round. A game is stalled once the
+ * whole board repeats a state seen within the last {@code window} rounds, or once no cell changed hands for
+ * {@code window} rounds in a row. The second check is what catches most stalled games, as reinforcements keep adding
+ * soldiers and so rarely let a state repeat exactly.
+ */
+class StalemateDetector {
+    private final int window;
+    private final long[] recentStateHashes;
+    private int recorded;
+    private long ownershipHash;
+    private int unchangedOwnershipRounds;
+
+    StalemateDetector(int window) {
+        this.window = window;
+        this.recentStateHashes = new long[window];
+    }
+
+    boolean isStalled(Board board) {
+        if (window <= 0) {
+            return false;
+        }
+        boolean stalled = isRepeated(board.getStateHash()) || isOwnershipUnchanged(board.getOwnershipHash());
+        recentStateHashes[recorded++ % window] = board.getStateHash();
+        return stalled;
+    }
+
+    private boolean isRepeated(long stateHash) {
+        for (int i = 0; i < Math.min(recorded, window); i++) {
+            if (recentStateHashes[i] == stateHash) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isOwnershipUnchanged(long hash) {
+        if (recorded > 0 && hash == ownershipHash) {
+            unchangedOwnershipRounds++;
+        } else {
+            ownershipHash = hash;
+            unchangedOwnershipRounds = 0;
+        }
+        return unchangedOwnershipRounds >= window;
+    }
+}
@@ -1,9 +1,13 @@
 package rasos;
 
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.PrintStream;
+
 import static rasos.Config.ID_A;
 import static rasos.Config.ID_B;
 
-public class StdoutRiskLogger implements RiskLogger {
+public class StdoutRiskLogger implements RiskLogger, Flushable {
 
     private static final String ASOS = "\n" +
             "  __ _ ___  ___  ___ \n" +
@@ -91,6 +95,16 @@ public class StdoutRiskLogger implements RiskLogger {
                 getPlayerSymbol(playerId), e.getMessage()));
     }
 
+    @Override
+    public void flush() {
+        if (printer instanceof Flushable) {
+            try {
+                ((Flushable) printer).flush();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
     private String getPlayerSymbol(int playerId) {
         if (playerId == ID_A) {
             return "A";
@@ -105,4 +119,28 @@ public class StdoutRiskLogger implements RiskLogger {
 
         void print(String s);
     }
+
+    /**
+     * Collects printed lines until {@link #flush()} writes them to the stream in a single call.
+     */
+    public static class BufferedPrinter implements Printer, Flushable {
+        private final PrintStream out;
+        private final StringBuilder buffer = new StringBuilder();
+
+        public BufferedPrinter(PrintStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void print(String s) {
+            buffer.append(s).append(System.lineSeparator());
+        }
+
+        @Override
+        public void flush() {
+            out.print(buffer);
+            out.flush();
+            buffer.setLength(0);
+        }
+    }
 }
@@ -0,0 +1,224 @@
+package rasos;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+import static rasos.Config.ID_A;
+import static rasos.Config.ID_B;
+
+/**
+ * Plays many games between {@link Entrant}s in parallel and collects their {@link GameResult} scores in a
+ * {@link Leaderboard}. At most {@code maxConcurrentGames} games run at once, each on its own game thread, while all
+ * player code runs on a shared {@link RecyclingExecutor} sized so that both players of every running game can compute
+ * concurrently.
+ */
+public class Tournament implements AutoCloseable {
+    private final int dim;
+    private final int soldiers;
+    private final int rounds;
+    private final long seed;
+    private final SplittableRandom seeds;
+    private final LongFunction<? extends RiskLogger> loggerFactory;
+    private final ExecutorService gameExecutor;
+    private final RecyclingExecutor playerExecutor;
+    private final LongAdder gamesPlayed = new LongAdder();
+
+    public Tournament(int dim, int soldiers, int rounds) {
+        this(dim, soldiers, rounds, Runtime.getRuntime().availableProcessors(), SilentRiskLogger::new);
+    }
+
+    public Tournament(int dim, int soldiers, int rounds, int maxConcurrentGames, Supplier<? extends RiskLogger> loggerFactory) {
+        this(dim, soldiers, rounds, maxConcurrentGames, ThreadLocalRandom.current().nextLong(),
+                gameSeed -> loggerFactory.get());
+    }
+
+    /**
+     * @param seed          every game's seed is drawn from it, in the order the games are paired, so a tournament
+     *                      played again with the same seed and entrants plays the same games
+     * @param loggerFactory creates the logger of a game from that game's seed, e.g. to record it in a replay
+     */
+    public Tournament(int dim, int soldiers, int rounds, int maxConcurrentGames, long seed,
+                      LongFunction<? extends RiskLogger> loggerFactory) {
+        this.dim = dim;
+        this.soldiers = soldiers;
+        this.rounds = rounds;
+        this.seed = seed;
+        this.seeds = new SplittableRandom(seed);
+        this.loggerFactory = loggerFactory;
+        this.gameExecutor = Executors.newFixedThreadPool(maxConcurrentGames, daemonThreadFactory());
+        this.playerExecutor = new RecyclingExecutor(2 * maxConcurrentGames);
+    }
+
+    /**
+     * Every entrant plays every other entrant once; the side (home base) alternates between pairings.
+     */
+    public Leaderboard playRoundRobin(List<Entrant> entrants) {
+        Leaderboard leaderboard = createLeaderboard(entrants);
+        playAll(getRoundRobinPairings(entrants), leaderboard);
+        return leaderboard;
+    }
+
+    /**
+     * Plays {@code swissRounds} rounds, pairing entrants with similar scores who haven't met yet. With an odd
+     * number of entrants, the lowest ranked entrant that hasn't had a bye yet sits out the round.
+     */
+    public Leaderboard playSwiss(List<Entrant> entrants, int swissRounds) {
+        Leaderboard leaderboard = createLeaderboard(entrants);
+        Map<Entrant, Set<Entrant>> opponents = new HashMap<>();
+        for (int round = 0; round < swissRounds; round++) {
+            playAll(getSwissPairings(entrants, leaderboard, opponents, round), leaderboard);
+        }
+        return leaderboard;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getGamesPlayed() {
+        return gamesPlayed.sum();
+    }
+
+    @Override
+    public void close() {
+        gameExecutor.shutdownNow();
+        playerExecutor.shutdownNow();
+    }
+
+    List<Pairing> getRoundRobinPairings(List<Entrant> entrants) {
+        List<Pairing> pairings = new ArrayList<>();
+        for (int i = 0; i < entrants.size(); i++) {
+            for (int j = i + 1; j < entrants.size(); j++) {
+                pairings.add((i + j) % 2 == 0
+                        ? new Pairing(entrants.get(i), entrants.get(j))
+                        : new Pairing(entrants.get(j), entrants.get(i)));
+            }
+        }
+        return pairings;
+    }
+
+    List<Pairing> getSwissPairings(List<Entrant> entrants, Leaderboard leaderboard, Map<Entrant, Set<Entrant>> opponents, int round) {
+        List<Entrant> unpaired = new LinkedList<>(entrants);
+        unpaired.sort(Comparator.comparingLong(leaderboard::getScore).reversed());
+        if (unpaired.size() % 2 == 1) {
+            Entrant bye = getByeEntrant(unpaired, leaderboard);
+            unpaired.remove(bye);
+            leaderboard.recordBye(bye);
+        }
+
+        List<Pairing> pairings = new ArrayList<>();
+        while (!unpaired.isEmpty()) {
+            Entrant higher = unpaired.remove(0);
+            Set<Entrant> played = opponents.computeIfAbsent(higher, e -> new HashSet<>());
+            Entrant lower = unpaired.stream()
+                    .filter(candidate -> !played.contains(candidate))
+                    .findFirst()
+                    .orElse(unpaired.get(0));
+            unpaired.remove(lower);
+            played.add(lower);
+            opponents.computeIfAbsent(lower, e -> new HashSet<>()).add(higher);
+            pairings.add(round % 2 == 0 ? new Pairing(higher, lower) : new Pairing(lower, higher));
+        }
+        return pairings;
+    }
+
+    private Entrant getByeEntrant(List<Entrant> ranked, Leaderboard leaderboard) {
+        Entrant bye = ranked.get(ranked.size() - 1);
+        for (int i = ranked.size() - 1; i >= 0; i--) {
+            Entrant candidate = ranked.get(i);
+            if (leaderboard.getByes(candidate) < leaderboard.getByes(bye)) {
+                bye = candidate;
+            }
+        }
+        return bye;
+    }
+
+    private Leaderboard createLeaderboard(List<Entrant> entrants) {
+        Leaderboard leaderboard = new Leaderboard();
+        entrants.forEach(leaderboard::register);
+        return leaderboard;
+    }
+
+    private void playAll(List<Pairing> pairings, Leaderboard leaderboard) {
+        List<Future<?>> games = new ArrayList<>(pairings.size());
+        for (Pairing pairing : pairings) {
+            long gameSeed = seeds.nextLong();
+            games.add(gameExecutor.submit(() -> play(pairing, gameSeed, leaderboard)));
+        }
+        for (Future<?> game : games) {
+            try {
+                game.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Tournament was interrupted", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+
+    private void play(Pairing pairing, long gameSeed, Leaderboard leaderboard) {
+        Player playerA = pairing.getA().createPlayer();
+        Player playerB = pairing.getB().createPlayer();
+        RiskLogger logger = loggerFactory.apply(gameSeed);
+        RoundHandler handler = new RoundHandler(ID_A, ID_B, playerA, playerB,
+                new Reinforcer(logger), new Attacker(logger), playerExecutor, logger);
+        Game game = new Game(dim, soldiers, rounds, playerA, ID_A, playerB, ID_B, handler,
+                new GameEndChecker(ID_A, ID_B), logger, 0, gameSeed);
+
+        game.start();
+
+        GameResult result = new GameResult(game.getBoard(), ID_A, ID_B);
+        leaderboard.record(pairing.getA(), result.getScore(ID_A), pairing.getB(), result.getScore(ID_B));
+        gamesPlayed.increment();
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "tournament-game-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    static class Pairing {
+        private final Entrant a;
+        private final Entrant b;
+
+        Pairing(Entrant a, Entrant b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        Entrant getA() {
+            return a;
+        }
+
+        Entrant getB() {
+            return b;
+        }
+
+        @Override
+        public String toString() {
+            return a + " vs " + b;
+        }
+    }
+}
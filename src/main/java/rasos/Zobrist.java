@@ -0,0 +1,35 @@
+package rasos;
+
+/**
+ * Zobrist keys for board cells. Owners and soldier counts are unbounded, so instead of a table of random numbers
+ * every key is derived from its (cell, owner, soldiers) triple by the SplitMix64 finalizer, which is as good as random
+ * for hashing. Neutral cells have the key 0, so an empty board hashes to 0.
+ */
+class Zobrist {
+    private static final long CELL_SEED = 0x9E3779B97F4A7C15L;
+    private static final long OWNER_SEED = 0xC2B2AE3D27D4EB4FL;
+    private static final long SOLDIERS_SEED = 0x165667B19E3779F9L;
+
+    static long stateKey(int index, int owner, int soldiers) {
+        if (owner == 0 && soldiers == 0) {
+            return 0;
+        }
+        return mix(ownershipKey(index, owner) ^ (soldiers + 1) * SOLDIERS_SEED);
+    }
+
+    static long ownershipKey(int index, int owner) {
+        if (owner == 0) {
+            return 0;
+        }
+        return mix((index + 1) * CELL_SEED ^ mix(owner * OWNER_SEED));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private Zobrist() {
+    }
+}
@@ -1,40 +1,28 @@
 package rasos.players;
 
 import rasos.AttackMove;
-import rasos.Board;
-import rasos.CellCoordinates;
+import rasos.BoardView;
 import rasos.PlayerUtils;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 public class AttackPlayer extends ReinforcePlayer {
 
     private PlayerUtils pu = new PlayerUtils(this);
 
     @Override
-    public Iterable<AttackMove> onAttack(Board board) {
-        Iterable<CellCoordinates> controlledCells = pu.getControlledCells(board);
-        List<AttackMove> res = new ArrayList<>();
-        for (CellCoordinates cc : controlledCells) {
-            res.add(getAttackMoveFromCell(board, cc));
+    public Iterable<AttackMove> onAttack(BoardView board) {
+        List<AttackMove> res = new ArrayList<>(pu.getControlledCellCount(board));
+        for (int index = pu.nextControlledCell(board, 0); index >= 0; index = pu.nextControlledCell(board, index + 1)) {
+            res.add(getAttackMoveFromCell(board, index));
         }
         return res;
     }
 
-    private AttackMove getAttackMoveFromCell(Board board, CellCoordinates cc) {
-        int colIdx = cc.getColIdx();
-        int rowIdx = cc.getRowIdx();
-        int numSoldiers = board.cellAt(colIdx, rowIdx).getNumSoldiers();
-        CellCoordinates randNeighbour = getRandomNeighbour(board, colIdx, rowIdx);
-        return new AttackMove(colIdx, rowIdx, randNeighbour.getColIdx(), randNeighbour.getRowIdx(), numSoldiers / 2);
+    private AttackMove getAttackMoveFromCell(BoardView board, int index) {
+        int neighbour = pu.getNeighbour(board, index, getRandom().nextInt(pu.getNeighbourCount(board, index)));
+        return new AttackMove(board.colOf(index), board.rowOf(index), board.colOf(neighbour), board.rowOf(neighbour),
+                board.soldiersAt(index) / 2);
     }
-
-    private CellCoordinates getRandomNeighbour(Board board, int colIdx, int rowIdx) {
-        List<CellCoordinates> neighbours = pu.getNeighbours(board, new CellCoordinates(colIdx, rowIdx));
-        Random r = new Random();
-        return neighbours.get(r.nextInt(neighbours.size()));
-    }
-
 }
@@ -1,6 +1,5 @@
 package rasos.players;
 
-import com.google.common.collect.Iterables;
 import rasos.*;
 
 import java.util.ArrayList;
@@ -10,21 +9,19 @@ public class ReinforcePlayer extends Player {
     private PlayerUtils playerUtils = new PlayerUtils(this);
 
     @Override
-    public Iterable<ReinforcementMove> onReinforcement(Board board, int reinforcement) {
-        ArrayList<ReinforcementMove> reinforcementMoves = new ArrayList<>();
-        Iterable<CellCoordinates> myCellsCoordinates = playerUtils.getControlledCells(board);
-        int numControlledCells = Iterables.size(myCellsCoordinates);
-
-        for (CellCoordinates cc :
-                myCellsCoordinates) {
-            reinforcementMoves.add(new ReinforcementMove(cc.getColIdx(), cc.getRowIdx(), reinforcement / numControlledCells));
+    public Iterable<ReinforcementMove> onReinforcement(BoardView board, int reinforcement) {
+        int numControlledCells = playerUtils.getControlledCellCount(board);
+        ArrayList<ReinforcementMove> reinforcementMoves = new ArrayList<>(numControlledCells);
+
+        for (int index = playerUtils.nextControlledCell(board, 0); index >= 0; index = playerUtils.nextControlledCell(board, index + 1)) {
+            reinforcementMoves.add(new ReinforcementMove(board.colOf(index), board.rowOf(index), reinforcement / numControlledCells));
         }
 
         return reinforcementMoves;
     }
 
     @Override
-    public Iterable<AttackMove> onAttack(Board board) {
+    public Iterable<AttackMove> onAttack(BoardView board) {
         return null;
     }
 }
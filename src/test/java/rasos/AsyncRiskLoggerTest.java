@@ -0,0 +1,158 @@
+package rasos;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class AsyncRiskLoggerTest {
+
+    private AsyncRiskLogger logger;
+
+    @After
+    public void tearDown() {
+        logger.close();
+    }
+
+    @Test
+    public void forwardsEventsInOrderOnClose() {
+        RiskLogger delegate = mock(RiskLogger.class);
+        logger = new AsyncRiskLogger(delegate);
+        AttackMove move = new AttackMove(1, 1, 1, 2, 3);
+
+        logger.logGameStart();
+        logger.logSuccessfulAttack(Config.ID_A, move);
+        logger.logGameEnd(Config.ID_B);
+        logger.close();
+
+        InOrder inOrder = inOrder(delegate);
+        inOrder.verify(delegate).logGameStart();
+        inOrder.verify(delegate).logSuccessfulAttack(Config.ID_A, move);
+        inOrder.verify(delegate).logGameEnd(Config.ID_B);
+        assertThat(logger.getDroppedEventCount(), is(0L));
+    }
+
+    @Test
+    public void logsASnapshotOfTheBoardAtRoundEnd() {
+        List<String> boards = Collections.synchronizedList(new ArrayList<>());
+        logger = new AsyncRiskLogger(new SilentRiskLogger() {
+            @Override
+            public void logRoundEnd(Board board) {
+                boards.add(board.toString());
+            }
+        });
+        Board board = new Board(2);
+        board.cellAt(1, 1).setValues(Config.ID_A, 5);
+        String expected = board.toString();
+
+        logger.logRoundEnd(board);
+        board.cellAt(1, 1).setValues(Config.ID_B, 7);
+        logger.close();
+
+        assertThat(boards, is(Collections.singletonList(expected)));
+    }
+
+    @Test(timeout = 2000)
+    public void dropsAndCountsEventsWhenTheBufferIsFull() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        logger = new AsyncRiskLogger(blockingLogger(writing, release), 2, AsyncRiskLogger.OverflowPolicy.DROP);
+
+        logger.logRoundStart();
+        writing.await();
+        for (int i = 0; i < 5; i++) {
+            logger.logRoundStart();
+        }
+        release.countDown();
+
+        assertThat(logger.getDroppedEventCount(), is(3L));
+    }
+
+    @Test(timeout = 2000)
+    public void blocksWhenTheBufferIsFull() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        logger = new AsyncRiskLogger(blockingLogger(writing, release), 1, AsyncRiskLogger.OverflowPolicy.BLOCK);
+        logger.logRoundStart();
+        writing.await();
+        logger.logRoundStart();
+
+        CountDownLatch logged = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            logger.logRoundStart();
+            logged.countDown();
+        });
+        producer.start();
+
+        assertFalse(logged.await(100, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(logged.await(1, TimeUnit.SECONDS));
+        assertThat(logger.getDroppedEventCount(), is(0L));
+    }
+
+    @Test
+    public void countsEventsLoggedAfterCloseAsDropped() {
+        RiskLogger delegate = mock(RiskLogger.class);
+        logger = new AsyncRiskLogger(delegate);
+        logger.close();
+
+        logger.logRoundStart();
+        logger.logRoundEnd(new Board(2));
+
+        verifyZeroInteractions(delegate);
+        assertThat(logger.getDroppedEventCount(), is(2L));
+    }
+
+    @Test(timeout = 2000)
+    public void doesNotCopyTheBoardOfARoundEndThatIsDropped() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        logger = new AsyncRiskLogger(blockingLogger(writing, release), 1, AsyncRiskLogger.OverflowPolicy.DROP);
+        logger.logRoundStart();
+        writing.await();
+        logger.logRoundStart();
+        Board board = spy(new Board(2));
+
+        logger.logRoundEnd(board);
+        release.countDown();
+
+        verify(board, never()).copy();
+        assertThat(logger.getDroppedEventCount(), is(1L));
+    }
+
+    @Test
+    public void bufferedPrinterWritesOnFlush() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        logger = new AsyncRiskLogger(new StdoutRiskLogger(new StdoutRiskLogger.BufferedPrinter(new PrintStream(bytes))));
+
+        logger.logRoundStart();
+        logger.close();
+
+        assertThat(bytes.toString(), is("-------========NEW ROUND========-------" + System.lineSeparator()));
+    }
+
+    private RiskLogger blockingLogger(CountDownLatch writing, CountDownLatch release) {
+        return new SilentRiskLogger() {
+            @Override
+            public void logRoundStart() {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+}
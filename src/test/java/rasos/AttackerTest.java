@@ -131,6 +131,16 @@ public class AttackerTest {
         assertBoardUnchanged();
     }
 
+    @Test
+    public void ignoresMovesLeavingTheBoardFromAnEdgeCell() {
+        AttackMove am = new AttackMove(1, 1, 0, 1, 10);
+
+        attacker.apply(board, Collections.singleton(am), Collections.emptyList(), ID_A, ID_B);
+
+        assertBoardUnchanged();
+        verify(logger).logFailedAttack(ID_A, am);
+    }
+
     @Test
     public void conqueringAttackMove() {
         Board b = new Board(2);
@@ -223,6 +233,51 @@ public class AttackerTest {
         TestUtils.assertCellContents(b.cellAt(3, 3), ID_B, 12);
     }
 
+    @Test
+    public void mutualAnnihilationLeavesCellNeutral() {
+        Board b = new Board(3);
+        b.populateHomeBases(INITIAL_SOLDIERS, ID_A, ID_B);
+
+        AttackMove amA = new AttackMove(1, 1, 2, 2, 7);
+        AttackMove amB = new AttackMove(3, 3, 2, 2, 7);
+
+        attacker.apply(b, Collections.singleton(amA), Collections.singleton(amB), ID_A, ID_B);
+
+        TestUtils.assertCellContents(b.cellAt(2, 2), 0, 0);
+        TestUtils.assertCellContents(b.cellAt(1, 1), ID_A, 13);
+        TestUtils.assertCellContents(b.cellAt(3, 3), ID_B, 13);
+    }
+
+    @Test
+    public void movesCanContinueFromCellsReachedEarlierInTheSameRound() {
+        Board b = new Board(3);
+        b.populateHomeBases(INITIAL_SOLDIERS, ID_A, ID_B);
+
+        AttackMove am1 = new AttackMove(1, 1, 2, 1, 10);
+        AttackMove am2 = new AttackMove(2, 1, 3, 1, 4);
+
+        attacker.apply(b, Lists.newArrayList(am1, am2), Collections.emptyList(), ID_A, ID_B);
+
+        TestUtils.assertCellContents(b.cellAt(1, 1), ID_A, 10);
+        TestUtils.assertCellContents(b.cellAt(2, 1), ID_A, 6);
+        TestUtils.assertCellContents(b.cellAt(3, 1), ID_A, 4);
+    }
+
+    @Test
+    public void reusesScratchStateAcrossRoundsAndBoardSizes() {
+        attacker.apply(board, Collections.singleton(new AttackMove(1, 1, 2, 1, 5)), Collections.emptyList(), ID_A, ID_B);
+        Board b = new Board(4);
+        b.populateHomeBases(INITIAL_SOLDIERS, ID_A, ID_B);
+
+        attacker.apply(b, Collections.singleton(new AttackMove(1, 1, 2, 1, 5)), Collections.emptyList(), ID_A, ID_B);
+        attacker.apply(b, Collections.emptyList(), Collections.singleton(new AttackMove(4, 4, 3, 3, 5)), ID_A, ID_B);
+
+        TestUtils.assertCellContents(b.cellAt(1, 1), ID_A, 15);
+        TestUtils.assertCellContents(b.cellAt(2, 1), ID_A, 5);
+        TestUtils.assertCellContents(b.cellAt(4, 4), ID_B, 15);
+        TestUtils.assertCellContents(b.cellAt(3, 3), ID_B, 5);
+    }
+
     @Test
     public void appliedAttackMovesAreLogged() {
         Iterable<AttackMove> movesToLog = Collections.singleton(new AttackMove(1, 1, 2, 1, 2));
@@ -0,0 +1,64 @@
+package rasos;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.script.Bindings;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class BindingsInvocableTest {
+
+    private ScriptEngine engine;
+    private Bindings bindings;
+    private BindingsInvocable invocable;
+
+    public interface Scorer {
+        int score(int soldiers);
+
+        String name();
+    }
+
+    @Before
+    public void setUp() throws ScriptException {
+        engine = new ScriptEngineManager().getEngineByName("nashorn");
+        bindings = engine.createBindings();
+        engine.eval("function score(soldiers) { return soldiers * 2; };" +
+                "function name() { return 'global'; };" +
+                "var other = { score: function(soldiers) { return soldiers + 1; }, name: function() { return 'other'; } };" +
+                "var partial = { score: function(soldiers) { return 0; } };", bindings);
+        invocable = new BindingsInvocable(bindings);
+    }
+
+    @Test
+    public void implementsInterfacesWithTopLevelFunctions() {
+        Scorer scorer = invocable.getInterface(Scorer.class);
+
+        assertThat(scorer.score(4), is(8));
+        assertThat(scorer.name(), is("global"));
+    }
+
+    @Test
+    public void implementsInterfacesWithMethodsOfAScriptObject() {
+        Scorer scorer = invocable.getInterface(bindings.get("other"), Scorer.class);
+
+        assertThat(scorer.score(4), is(5));
+        assertThat(scorer.name(), is("other"));
+    }
+
+    @Test
+    public void returnsNullWhenAFunctionIsMissing() {
+        assertThat(invocable.getInterface(bindings.get("partial"), Scorer.class), is(nullValue()));
+        assertThat(new BindingsInvocable(engine.createBindings()).getInterface(Scorer.class), is(nullValue()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsClassesThatAreNotInterfaces() {
+        invocable.getInterface(Object.class);
+    }
+}
@@ -0,0 +1,67 @@
+package rasos;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BoardChangeJournalTest {
+
+    private Board board;
+    private BoardChangeJournal journal;
+
+    @Before
+    public void setUp() {
+        board = new Board(3);
+        board.cellAt(1, 1).setValues(1, 5);
+        journal = board.attachJournal();
+    }
+
+    @Test
+    public void firstDeltaIsAFullSnapshot() {
+        BoardDelta delta = journal.drain();
+
+        assertThat(delta.isFullSnapshot(), is(true));
+        assertThat(delta.size(), is(9));
+        assertThat(delta.getOwner(0), is(1));
+        assertThat(delta.getSoldiers(0), is(5));
+    }
+
+    @Test
+    public void recordsEveryChangedCellOnce() {
+        journal.acknowledge(journal.drain());
+
+        board.cellAt(2, 2).setValues(1, 3);
+        board.cellAt(2, 2).setValues(2, 4);
+        board.cellAt(1, 1).makeNeutral();
+        BoardDelta delta = journal.drain();
+
+        assertThat(delta.isFullSnapshot(), is(false));
+        assertThat(delta.size(), is(2));
+        assertThat(delta.getIndex(0), is(board.indexOf(2, 2)));
+        assertThat(delta.getOwner(0), is(2));
+        assertThat(delta.getSoldiers(0), is(4));
+        assertThat(delta.getIndex(1), is(board.indexOf(1, 1)));
+        assertThat(delta.getOwner(1), is(0));
+        assertThat(journal.getChangedCount(), is(0));
+    }
+
+    @Test
+    public void unacknowledgedDeltaForcesAFullSnapshot() {
+        journal.acknowledge(journal.drain());
+        board.cellAt(2, 2).setValues(1, 3);
+        journal.drain();
+
+        assertThat(journal.drain().isFullSnapshot(), is(true));
+    }
+
+    @Test
+    public void detachedJournalsStopRecording() {
+        board.detachJournal(journal);
+
+        board.cellAt(2, 2).setValues(1, 3);
+
+        assertThat(journal.getChangedCount(), is(0));
+    }
+}
@@ -31,6 +31,89 @@ public class BoardTest {
         TestUtils.assertCellContents(board.cellAt(2, 4), 777, 777);
     }
 
+    @Test
+    public void cellViewsShareBoardState() {
+        board.cellAt(3, 5).setValues(12, 40);
+
+        TestUtils.assertCellContents(board.cellAt(3, 5), 12, 40);
+        assertEquals(12, board.ownerAt(board.indexOf(3, 5)));
+        assertEquals(40, board.soldiersAt(board.indexOf(3, 5)));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void throwsOnCellOutsideOfBoard() {
+        board.cellAt(0, 3);
+    }
+
+    @Test
+    public void copiesAreIndependentOfTheOriginal() {
+        board.cellAt(3, 5).setValues(12, 40);
+        Board copy = board.copy();
+
+        board.cellAt(3, 5).setValues(13, 2);
+        copy.cellAt(1, 1).setValues(12, 1);
+
+        TestUtils.assertCellContents(copy.cellAt(3, 5), 12, 40);
+        assertEquals(2, copy.getPlayerCellCount(12));
+        assertEquals(41, copy.getPlayerSoldierCount(12));
+        assertEquals(0, board.getPlayerCellCount(12));
+        assertTrue(board.cellAt(1, 1).isNeutral());
+    }
+
+    @Test
+    public void versionChangesOnEveryCellWrite() {
+        long initial = board.getVersion();
+
+        board.cellAt(3, 5).setValues(12, 40);
+        board.cellAt(3, 5).updateNumSoldiers(41);
+
+        // bumped once as each write starts and once as it ends
+        assertEquals(initial + 4, board.getVersion());
+    }
+
+    @Test
+    public void rendersTextOncePerVersion() {
+        board.cellAt(3, 5).setValues(12, 40);
+        String rendered = board.toString();
+
+        assertSame(rendered, board.toString());
+        assertSame(rendered, board.copy().toString());
+
+        board.cellAt(3, 5).setValues(12, 41);
+        assertNotSame(rendered, board.toString());
+        assertNotEquals(rendered, board.toString());
+    }
+
+    @Test
+    public void hashesDependOnlyOnTheCurrentState() {
+        Board other = new Board(dim);
+        board.cellAt(1, 2).setValues(3, 4);
+        board.cellAt(5, 5).setValues(4, 9);
+        board.cellAt(1, 2).makeNeutral();
+        other.cellAt(5, 5).setValues(4, 9);
+
+        assertEquals(other.getStateHash(), board.getStateHash());
+        assertEquals(other.getOwnershipHash(), board.getOwnershipHash());
+
+        board.cellAt(5, 5).makeNeutral();
+        assertEquals(new Board(dim).getStateHash(), board.getStateHash());
+    }
+
+    @Test
+    public void ownershipHashIgnoresSoldierCounts() {
+        board.cellAt(2, 2).setValues(3, 4);
+        long stateHash = board.getStateHash();
+        long ownershipHash = board.getOwnershipHash();
+
+        board.cellAt(2, 2).updateNumSoldiers(5);
+
+        assertNotEquals(stateHash, board.getStateHash());
+        assertEquals(ownershipHash, board.getOwnershipHash());
+
+        board.cellAt(2, 2).setValues(4, 5);
+        assertNotEquals(ownershipHash, board.getOwnershipHash());
+    }
+
     @Test
     public void boardInitializesNeutral() {
         for (int i = 1; i <= dim; i++) {
@@ -94,6 +177,31 @@ public class BoardTest {
         assertEquals(3, board.getPlayerCellCount(7));
     }
 
+    @Test
+    public void getPlayerSoldierCount() {
+        board.cellAt(2, 4).setValues(7, 12);
+        board.cellAt(6, 1).setValues(7, 57);
+        board.cellAt(3, 7).setValues(8, 7);
+
+        assertEquals(69, board.getPlayerSoldierCount(7));
+    }
+
+    @Test
+    public void countersFollowCellMutations() {
+        board.cellAt(2, 4).setValues(7, 12);
+        board.cellAt(6, 1).setValues(7, 57);
+        board.cellAt(6, 1).setValues(8, 3);
+        board.cellAt(2, 4).updateNumSoldiers(2);
+        board.cellAt(3, 3).setValues(8, 4);
+        board.cellAt(3, 3).makeNeutral();
+
+        assertEquals(1, board.getPlayerCellCount(7));
+        assertEquals(2, board.getPlayerSoldierCount(7));
+        assertEquals(1, board.getPlayerCellCount(8));
+        assertEquals(3, board.getPlayerSoldierCount(8));
+        assertEquals(dim * dim - 2, board.getPlayerCellCount(0));
+    }
+
     @Test
     public void toStringHumanReadable() {
         Board b = new Board(2);
@@ -120,6 +228,22 @@ public class BoardTest {
         assertThat(player1Cells, hasItems(cc1, cc2));
     }
 
+    @Test
+    public void iteratesControlledCellsInIndexOrder() {
+        board.cellAt(3, 2).setValues(1, 10);
+        board.cellAt(1, 4).setValues(1, 10);
+        board.cellAt(2, 2).setValues(2, 10);
+        board.cellAt(5, 5).setValues(1, 10);
+        board.cellAt(5, 5).setValues(2, 10);
+
+        int first = board.nextControlledCell(1, 0);
+        int second = board.nextControlledCell(1, first + 1);
+
+        assertEquals(board.indexOf(1, 4), first);
+        assertEquals(board.indexOf(3, 2), second);
+        assertEquals(-1, board.nextControlledCell(1, second + 1));
+    }
+
     @Test
     public void retrievesEmptyCoordinatesListForNonExistingPlayer() {
         assertThat(Iterables.size(board.getControlledCoordinates(1)), is(0));
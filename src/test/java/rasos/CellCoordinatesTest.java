@@ -0,0 +1,34 @@
+package rasos;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class CellCoordinatesTest {
+
+    @Test
+    public void packedCoordinatesUnpackToTheSameCell() {
+        long packed = CellCoordinates.pack(7, 3);
+
+        assertThat(CellCoordinates.colOf(packed), is(7));
+        assertThat(CellCoordinates.rowOf(packed), is(3));
+        assertThat(CellCoordinates.unpack(packed), is(new CellCoordinates(7, 3)));
+        assertThat(new CellCoordinates(7, 3).pack(), is(packed));
+    }
+
+    @Test
+    public void packingKeepsNegativeOffsets() {
+        long packed = CellCoordinates.pack(-1, -2);
+
+        assertThat(CellCoordinates.colOf(packed), is(-1));
+        assertThat(CellCoordinates.rowOf(packed), is(-2));
+    }
+
+    @Test
+    public void equalCoordinatesHashAlikeAndSwappedOnesDoNot() {
+        assertThat(new CellCoordinates(2, 5).hashCode(), is(new CellCoordinates(2, 5).hashCode()));
+        assertThat(new CellCoordinates(2, 5).hashCode(), not(new CellCoordinates(5, 2).hashCode()));
+    }
+}
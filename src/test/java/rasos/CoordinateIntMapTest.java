@@ -0,0 +1,88 @@
+package rasos;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CoordinateIntMapTest {
+
+    private CoordinateIntMap map;
+
+    @Before
+    public void setUp() {
+        map = new CoordinateIntMap();
+    }
+
+    @Test
+    public void missingKeysReadAsZeroOrTheDefault() {
+        long packed = CellCoordinates.pack(1, 2);
+
+        assertThat(map.get(packed), is(0));
+        assertThat(map.getOrDefault(packed, -1), is(-1));
+        assertFalse(map.containsKey(packed));
+    }
+
+    @Test
+    public void putReturnsThePreviousValue() {
+        long packed = CellCoordinates.pack(1, 2);
+
+        assertThat(map.put(packed, 5), is(0));
+        assertThat(map.put(packed, 8), is(5));
+        assertThat(map.get(packed), is(8));
+        assertThat(map.size(), is(1));
+    }
+
+    @Test
+    public void addToStartsFromZero() {
+        long packed = CellCoordinates.pack(3, 3);
+
+        assertThat(map.addTo(packed, 4), is(4));
+        assertThat(map.addTo(packed, -1), is(3));
+        assertThat(map.addTo(0L, 2), is(2));
+        assertThat(map.size(), is(2));
+    }
+
+    @Test
+    public void zeroKeySurvivesGrowth() {
+        map.put(0L, 42);
+        for (int col = 1; col <= 20; col++) {
+            map.put(CellCoordinates.pack(col, col), col);
+        }
+
+        assertThat(map.get(0L), is(42));
+        assertThat(map.remove(0L), is(42));
+        assertFalse(map.containsKey(0L));
+        assertThat(map.size(), is(20));
+    }
+
+    @Test
+    public void behavesLikeAHashMapThroughGrowthAndRemovals() {
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 5000; i++) {
+            long packed = CellCoordinates.pack(random.nextInt(40), random.nextInt(40));
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(packed);
+                assertThat(map.remove(packed), is(removed == null ? 0 : removed));
+            } else {
+                int delta = random.nextInt(10);
+                assertThat(map.addTo(packed, delta), is(expected.merge(packed, delta, Integer::sum)));
+            }
+        }
+
+        assertThat(map.size(), is(expected.size()));
+        Map<Long, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertThat(iterated, is(expected));
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+}
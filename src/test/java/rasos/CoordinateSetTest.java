@@ -0,0 +1,87 @@
+package rasos;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CoordinateSetTest {
+
+    private CoordinateSet set;
+
+    @Before
+    public void setUp() {
+        set = new CoordinateSet();
+    }
+
+    @Test
+    public void addsEachCoordinateOnce() {
+        assertTrue(set.add(2, 3));
+        assertFalse(set.add(2, 3));
+
+        assertTrue(set.contains(2, 3));
+        assertFalse(set.contains(3, 2));
+        assertThat(set.size(), is(1));
+    }
+
+    @Test
+    public void holdsTheZeroKey() {
+        assertTrue(set.add(0L));
+        set.add(1, 1);
+
+        assertTrue(set.contains(0L));
+        assertThat(sum(set), is(CellCoordinates.pack(1, 1)));
+        assertTrue(set.remove(0L));
+        assertFalse(set.contains(0L));
+        assertThat(set.size(), is(1));
+    }
+
+    @Test
+    public void clearKeepsNothing() {
+        set.add(1, 1);
+        set.clear();
+
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1, 1));
+        assertThat(set.nextSlot(0), is(-1));
+    }
+
+    @Test
+    public void behavesLikeAHashSetThroughGrowthAndRemovals() {
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            long packed = CellCoordinates.pack(random.nextInt(40), random.nextInt(40));
+            if (random.nextInt(3) == 0) {
+                assertThat(set.remove(packed), is(expected.remove(packed)));
+            } else {
+                assertThat(set.add(packed), is(expected.add(packed)));
+            }
+        }
+
+        assertThat(set.size(), is(expected.size()));
+        Set<Long> iterated = new HashSet<>();
+        set.forEach(iterated::add);
+        assertThat(iterated, is(expected));
+        for (int col = 0; col < 40; col++) {
+            for (int row = 0; row < 40; row++) {
+                assertThat(set.contains(col, row), is(expected.contains(CellCoordinates.pack(col, row))));
+            }
+        }
+    }
+
+    private static long sum(CoordinateSet set) {
+        long sum = 0;
+        for (int slot = set.nextSlot(0); slot >= 0; slot = set.nextSlot(slot + 1)) {
+            sum += set.keyAt(slot);
+        }
+        return sum;
+    }
+}
@@ -1,13 +1,14 @@
 package rasos;
 
 import org.junit.Before;
-import org.junit.Ignore;
 import org.junit.Test;
 import rasos.players.AttackPlayer;
 
 import java.util.Collections;
 import java.util.concurrent.Executors;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static rasos.Config.ID_A;
@@ -56,35 +57,18 @@ public class End2EndTest {
         verify(logger).logGameEnd(ID_A);
     }
 
-    @Test
-    @Ignore
-    public void illegalGame() {
-        Player illegal = new IllegalPlayer();
-        Player bunker = new BunkerPlayer();
-        RoundHandler handler = new RoundHandler(
-                ID_A,
-                ID_B,
-                illegal,
-                bunker,
-                new Reinforcer(logger),
-                new Attacker(logger), Executors.newSingleThreadExecutor(), logger);
-        Game g = new Game(5, 20, 50, illegal, ID_A, bunker, ID_B, handler, new GameEndChecker(ID_A, ID_B), logger);
-
-        g.start();
-    }
-
     private class RabakPlayer extends Player {
 
         private int turn = 0;
 
         @Override
-        public Iterable<ReinforcementMove> onReinforcement(Board board, int reinforcement) {
+        public Iterable<ReinforcementMove> onReinforcement(BoardView board, int reinforcement) {
             turn++;
             return Collections.singleton(new ReinforcementMove(turn, turn, reinforcement));
         }
 
         @Override
-        public Iterable<AttackMove> onAttack(Board board) {
+        public Iterable<AttackMove> onAttack(BoardView board) {
             int soldiers = board.cellAt(turn, turn).getNumSoldiers();
             AttackMove move = new AttackMove(turn, turn, turn + 1, turn + 1, soldiers - 1);
             return Collections.singleton(move);
@@ -94,25 +78,12 @@ public class End2EndTest {
     private class BunkerPlayer extends Player {
 
         @Override
-        public Iterable<ReinforcementMove> onReinforcement(Board board, int reinforcement) {
+        public Iterable<ReinforcementMove> onReinforcement(BoardView board, int reinforcement) {
             return Collections.singleton(new ReinforcementMove(board.getDim(), board.getDim(), reinforcement));
         }
 
         @Override
-        public Iterable<AttackMove> onAttack(Board board) {
-            return null;
-        }
-    }
-
-    private class IllegalPlayer extends Player {
-        @Override
-        public Iterable<ReinforcementMove> onReinforcement(Board board, int reinforcement) {
-            board.cellAt(5, 5).setValues(ID_A, 1);
-            return null;
-        }
-
-        @Override
-        public Iterable<AttackMove> onAttack(Board board) {
+        public Iterable<AttackMove> onAttack(BoardView board) {
             return null;
         }
     }
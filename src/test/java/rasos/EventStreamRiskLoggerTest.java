@@ -0,0 +1,104 @@
+package rasos;
+
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.Before;
+import org.junit.Test;
+import rasos.players.AttackPlayer;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static rasos.Config.ID_A;
+import static rasos.Config.ID_B;
+
+public class EventStreamRiskLoggerTest {
+
+    private EventStreamRiskLogger logger;
+
+    @Before
+    public void setUp() {
+        logger = new EventStreamRiskLogger();
+    }
+
+    @Test
+    public void publishesTheWholeGame() throws InterruptedException {
+        TestSubscriber<GameEvent> subscriber = logger.events().test();
+
+        play(10);
+        logger.close();
+
+        subscriber.await(5, TimeUnit.SECONDS);
+        subscriber.assertComplete().assertNoErrors();
+        List<GameEvent> events = subscriber.values();
+        assertThat(events.get(0), instanceOf(GameEvent.GameStart.class));
+        GameEvent last = events.get(events.size() - 1);
+        assertThat(last, instanceOf(GameEvent.GameEnd.class));
+        int rounds = last.getRound();
+        assertThat(count(events, GameEvent.RoundStart.class), is(rounds));
+        assertThat(count(events, GameEvent.RoundEnd.class), is(rounds));
+        assertTrue(count(events, GameEvent.Reinforcement.class) > 0);
+        assertThat(logger.getDroppedEventCount(), is(0L));
+    }
+
+    @Test
+    public void roundEndCarriesACopyOfTheBoard() {
+        Board board = new Board(3);
+        board.populateHomeBases(5, ID_A, ID_B);
+        TestSubscriber<GameEvent> subscriber = logger.events(16, Schedulers.trampoline()).test();
+
+        logger.logRoundStart();
+        logger.logRoundEnd(board);
+        board.cellAt(2, 2).setValues(ID_A, 1);
+
+        GameEvent.RoundEnd roundEnd = (GameEvent.RoundEnd) subscriber.values().get(1);
+        assertThat(roundEnd.getRound(), is(1));
+        assertThat(roundEnd.getBoard().cellAt(2, 2).getControllingPlayerId(), is(0));
+        assertThat(roundEnd.getBoard() instanceof Board, is(false));
+    }
+
+    @Test
+    public void aStalledSubscriberNeitherBlocksTheGameNorOtherSubscribers() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        TestSubscriber<GameEvent> stalled = logger.events(8, Schedulers.newThread())
+                .doOnNext(event -> release.await())
+                .test();
+        TestSubscriber<GameEvent> healthy = logger.events(100_000, Schedulers.newThread()).test();
+
+        play(10);
+        logger.close();
+
+        healthy.await(5, TimeUnit.SECONDS);
+        healthy.assertComplete();
+        assertTrue(logger.getDroppedEventCount() > 0);
+        release.countDown();
+        stalled.await(5, TimeUnit.SECONDS);
+        stalled.assertComplete();
+        assertTrue(stalled.valueCount() < healthy.valueCount());
+    }
+
+    @Test
+    public void publishesNothingWithoutSubscribers() {
+        play(3);
+
+        logger.events(16, Schedulers.trampoline()).test().assertNoValues();
+    }
+
+    private void play(int rounds) {
+        Player playerA = new AttackPlayer();
+        Player playerB = new AttackPlayer();
+        RoundHandler handler = new RoundHandler(ID_A, ID_B, playerA, playerB,
+                new Reinforcer(logger), new Attacker(logger), Executors.newSingleThreadExecutor(), logger);
+        new Game(5, 20, rounds, playerA, ID_A, playerB, ID_B, handler, new GameEndChecker(ID_A, ID_B), logger).start();
+    }
+
+    private static int count(List<GameEvent> events, Class<? extends GameEvent> type) {
+        return (int) events.stream().filter(type::isInstance).count();
+    }
+}
@@ -0,0 +1,149 @@
+package rasos;
+
+import com.google.common.io.ByteStreams;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import rasos.players.AttackPlayer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static rasos.Config.ID_A;
+import static rasos.Config.ID_B;
+
+public class FlightRecorderEventsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void recordsGamesRoundsPlayerCallsAndAttacks() throws IOException {
+        Path file = folder.newFile("game.jfr").toPath();
+        Game game;
+        try (Recording recording = new Recording()) {
+            recording.enable("rasos.Game");
+            recording.enable("rasos.Round");
+            recording.enable("rasos.PlayerCall");
+            recording.enable("rasos.AttackResolution");
+            recording.start();
+            game = play();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<RecordedEvent> games = ofType(events, "rasos.Game");
+        assertThat(games.size(), is(1));
+        assertThat(games.get(0).getLong("gameId"), is(game.getId()));
+        int rounds = games.get(0).getInt("rounds");
+        assertTrue(rounds > 0);
+
+        List<RecordedEvent> roundEvents = ofType(events, "rasos.Round");
+        assertThat(roundEvents.size(), is(rounds));
+        assertTrue(roundEvents.stream().allMatch(event -> event.getLong("gameId") == game.getId()));
+        assertThat(ofType(events, "rasos.AttackResolution").size(), is(rounds));
+
+        List<RecordedEvent> calls = ofType(events, "rasos.PlayerCall");
+        assertThat(calls.size(), is(4 * rounds));
+        assertTrue(calls.stream().anyMatch(event -> event.getInt("playerId") == ID_B
+                && event.getString("phase").equals("ATTACK") && event.getInt("round") == rounds));
+        assertFalse(calls.stream().anyMatch(event -> event.getBoolean("timedOut")));
+        assertTrue(calls.stream().anyMatch(event -> event.getInt("moveCount") > 0));
+    }
+
+    @Test
+    public void playsGamesOnJvmsWithoutFlightRecorder() throws Exception {
+        ClassLoader loader = new WithoutFlightRecorderClassLoader(getClass().getClassLoader());
+        Callable<?> game = (Callable<?>) loader.loadClass(HeadlessGame.class.getName()).newInstance();
+
+        assertThat(game.call(), is(false));
+    }
+
+    private static Game play() {
+        RiskLogger logger = new SilentRiskLogger();
+        Player playerA = new AttackPlayer();
+        Player playerB = new AttackPlayer();
+        RoundHandler handler = new RoundHandler(ID_A, ID_B, playerA, playerB,
+                new Reinforcer(logger), new Attacker(logger), Executors.newFixedThreadPool(2), logger);
+        Game game = new Game(5, 20, 10, playerA, ID_A, playerB, ID_B, handler, new GameEndChecker(ID_A, ID_B), logger);
+        game.start();
+        return game;
+    }
+
+    // loaded by a WithoutFlightRecorderClassLoader, so it must not touch jdk.jfr itself
+    public static class HeadlessGame implements Callable<Boolean> {
+        @Override
+        public Boolean call() {
+            RiskLogger logger = new SilentRiskLogger();
+            Player playerA = new AttackPlayer();
+            Player playerB = new AttackPlayer();
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                RoundHandler handler = new RoundHandler(ID_A, ID_B, playerA, playerB,
+                        new Reinforcer(logger), new Attacker(logger), executor, logger);
+                new Game(5, 20, 10, playerA, ID_A, playerB, ID_B, handler, new GameEndChecker(ID_A, ID_B), logger)
+                        .start();
+                return FlightRecorderEvents.AVAILABLE;
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    // defines the rasos classes itself and pretends jdk.jfr does not exist
+    private static class WithoutFlightRecorderClassLoader extends ClassLoader {
+        WithoutFlightRecorderClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith("jdk.jfr.")) {
+                throw new ClassNotFoundException(name);
+            }
+            if (!name.startsWith("rasos.")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    loaded = define(name);
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+
+        private Class<?> define(String name) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if (in == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                byte[] bytes = ByteStreams.toByteArray(in);
+                return defineClass(name, bytes, 0, bytes.length);
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+}
@@ -14,6 +14,7 @@ import java.util.concurrent.Executors;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
 
 public class GameTest {
@@ -103,6 +104,27 @@ public class GameTest {
         verify(handler, times(rounds)).playOneRound(game.getBoard());
     }
 
+    @Test
+    public void gameEndsTheHandlersGameAfterTheLastRound() {
+        Game game = createLongGame(4);
+        InOrder inOrder = inOrder(handler);
+        game.start();
+        inOrder.verify(handler, times(4)).playOneRound(game.getBoard());
+        inOrder.verify(handler).endGame();
+    }
+
+    @Test
+    public void gameEndsTheHandlersGameWhenARoundThrows() {
+        Game game = createLongGame(4);
+        doThrow(new IllegalStateException()).when(handler).playOneRound(game.getBoard());
+        try {
+            game.start();
+            fail("Expected the round to throw");
+        } catch (IllegalStateException expected) {
+        }
+        verify(handler).endGame();
+    }
+
     @Test
     public void gameChecksForGameEndingEachRound() {
         int rounds = 13;
@@ -120,6 +142,17 @@ public class GameTest {
         verify(handler, times(3)).playOneRound(game.getBoard());
     }
 
+    @Test
+    public void stalledGameEndsEarlyWhenAStalemateWindowIsSet() {
+        Game game = new Game(boardDim, 5, 50, playerA, ID_A, playerB, ID_B, handler, checker, logger, 3);
+
+        game.start();
+
+        // the handler is a mock, so the second round already repeats the first round's state
+        verify(handler, times(2)).playOneRound(game.getBoard());
+        verify(logger).logGameEnd(anyInt());
+    }
+
     @Test
     public void gameCallsLogStartOnMatchStart() {
         InOrder inOrder = inOrder(logger, handler);
@@ -138,6 +171,28 @@ public class GameTest {
         inOrder.verify(logger).logGameEnd(checker.getWinnerId(any(Board.class)));
     }
 
+    @Test
+    public void gamesWithTheSameSeedArePlayedIdentically() {
+        Board first = playSeededGame(1234L);
+        Board second = playSeededGame(1234L);
+
+        assertThat(second.toString(), is(first.toString()));
+        assertThat(second.getStateHash(), is(first.getStateHash()));
+    }
+
+    private Board playSeededGame(long seed) {
+        RiskLogger logger = new SilentRiskLogger();
+        Player playerA = new AttackPlayer();
+        Player playerB = new AttackPlayer();
+        RoundHandler handler = new RoundHandler(ID_A, ID_B, playerA, playerB,
+                new Reinforcer(logger), new Attacker(logger), Executors.newFixedThreadPool(2), logger);
+        Game game = new Game(7, 20, 30, playerA, ID_A, playerB, ID_B, handler,
+                new GameEndChecker(ID_A, ID_B), logger, 0, seed);
+        game.start();
+        assertThat(game.getSeed(), is(seed));
+        return game.getBoard();
+    }
+
     private Game createSimpleGame(int soldiers) {
         return createConfigurableGame(soldiers, 1);
     }
@@ -0,0 +1,172 @@
+package rasos;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.script.ScriptEngineManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+public class JsBotRegistryTest {
+    private static final String COUNTING_BOT = "var calls = 0;" +
+            "function onGameStart(playerId){};" +
+            "function onReinforcement(board, reinforcement){ calls++; return [{col:1,row:1,amount:calls}]; };" +
+            "function onAttack(board){ return []; };";
+
+    private JsBotRegistry registry;
+    private JsonParser parser;
+    private RiskLogger logger;
+    private Board board;
+
+    @Before
+    public void setUp() {
+        registry = new JsBotRegistry(new ScriptEngineManager().getEngineByName("nashorn"), 2);
+        parser = new JsonParser();
+        logger = mock(RiskLogger.class);
+        board = new Board(3);
+    }
+
+    @Test
+    public void compilesEachScriptOnce() {
+        String key = registry.register(COUNTING_BOT);
+
+        assertThat(registry.register(new String(COUNTING_BOT)), is(key));
+        assertThat(registry.register(COUNTING_BOT + " "), is(not(key)));
+        assertThat(registry.getBotCount(), is(2));
+    }
+
+    @Test
+    public void playersReturnMoves() {
+        Player player = registry.createPlayer(registry.register(COUNTING_BOT), parser, logger);
+
+        assertThat(player.onReinforcement(board, 1).iterator().next(), is(new ReinforcementMove(1, 1, 1)));
+        assertThat(player.onAttack(board).iterator().hasNext(), is(false));
+    }
+
+    @Test
+    public void playersOfTheSameBotDoNotShareState() {
+        String key = registry.register(COUNTING_BOT);
+        Player first = registry.createPlayer(key, parser, logger);
+        Player second = registry.createPlayer(key, parser, logger);
+
+        first.onReinforcement(board, 1);
+        first.onReinforcement(board, 1);
+
+        assertThat(second.onReinforcement(board, 1).iterator().next(), is(new ReinforcementMove(1, 1, 1)));
+        assertThat(first.onReinforcement(board, 1).iterator().next(), is(new ReinforcementMove(1, 1, 3)));
+    }
+
+    @Test
+    public void handsOutPreEvaluatedBindingsBeforeEvaluatingNewOnes() {
+        QueuedExecutorService evaluator = new QueuedExecutorService();
+        registry = new JsBotRegistry(new ScriptEngineManager().getEngineByName("nashorn"), 2, evaluator, 1000);
+        String key = registry.register(COUNTING_BOT);
+        assertThat(registry.getPooledBindingsCount(key), is(0));
+        evaluator.runQueued();
+        assertThat(registry.getPooledBindingsCount(key), is(2));
+
+        registry.createPlayer(key, parser, logger);
+        registry.createPlayer(key, parser, logger);
+
+        assertThat(registry.getPooledBindingsCount(key), is(0));
+        assertThat(evaluator.queued.size(), is(2));
+    }
+
+    @Test
+    public void refillsThePoolForEveryBindingsHandedOut() {
+        QueuedExecutorService evaluator = new QueuedExecutorService();
+        registry = new JsBotRegistry(new ScriptEngineManager().getEngineByName("nashorn"), 2, evaluator, 1000);
+        String key = registry.register(COUNTING_BOT);
+        evaluator.runQueued();
+
+        for (int game = 0; game < 5; game++) {
+            Player player = registry.createPlayer(key, parser, logger);
+            player.onReinforcement(board, 1);
+            evaluator.runQueued();
+            assertThat(registry.getPooledBindingsCount(key), is(2));
+        }
+
+        // pooled bindings are fresh, the previous players' calls left no trace in them
+        Player player = registry.createPlayer(key, parser, logger);
+        assertThat(player.onReinforcement(board, 1).iterator().next(), is(new ReinforcementMove(1, 1, 1)));
+    }
+
+    @Test(timeout = 10000)
+    public void givesUpOnScriptsThatDoNotFinishEvaluating() throws InterruptedException {
+        registry = new JsBotRegistry(new ScriptEngineManager().getEngineByName("nashorn"), 1, new RecyclingExecutor(1), 200);
+        String slowKey = registry.register("var start = Date.now(); while (Date.now() - start < 3000) {};" + COUNTING_BOT);
+        String key = registry.register(COUNTING_BOT);
+
+        // the slow script's evaluation is given up on, so it doesn't hold up the other bot's
+        while (registry.getPooledBindingsCount(key) < 1) {
+            Thread.sleep(10);
+        }
+        try {
+            registry.createPlayer(slowKey, parser, logger);
+            fail("Expected the evaluation to time out");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), is(JsBotRegistry.EVALUATION_TIMEOUT_ERROR));
+        }
+        assertThat(registry.getPooledBindingsCount(slowKey), is(0));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void throwsOnUnknownBot() {
+        registry.createPlayer("nope", parser, logger);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void throwsOnMissingFunction() {
+        Player player = registry.createPlayer(registry.register("function onGameStart(playerId){};"), parser, logger);
+
+        player.onAttack(board);
+    }
+
+    // runs tasks only when told to
+    private static class QueuedExecutorService extends AbstractExecutorService {
+        private final List<Runnable> queued = new ArrayList<>();
+
+        void runQueued() {
+            List<Runnable> tasks = new ArrayList<>(queued);
+            queued.clear();
+            tasks.forEach(Runnable::run);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            queued.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return new ArrayList<>(queued);
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+    }
+}
@@ -10,10 +10,10 @@ import org.junit.rules.ExpectedException;
 import javax.script.Invocable;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
-import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.anyVararg;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
@@ -21,7 +21,6 @@ import static rasos.JsPlayer.ATTACK_JS_FUNCTION_NAME;
 import static rasos.JsPlayer.REINFORCEMENT_JS_FUNCTION_NAME;
 
 
-//TODO: Create JsPlayerBuilder (so that JsPlayer will get only an invocable in the constructor and not a script+engine that it doesn't use
 @SuppressWarnings("unchecked")
 public class JsPlayerTest {
     @Rule
@@ -107,25 +106,32 @@ public class JsPlayerTest {
         verify(invocable).invokeFunction(JsPlayer.ON_GAME_START_JS_FUNCTION_NAME, player.getPlayerId());
     }
 
+    @Test
+    public void playerExecutesInitMethodOfAnEvaluatedScript() throws ScriptException, NoSuchMethodException {
+        Player player = new JsPlayer(invocable, parser, logger);
+        verify(invocable).invokeFunction(JsPlayer.ON_GAME_START_JS_FUNCTION_NAME, player.getPlayerId());
+        verify(engine, never()).eval(anyString());
+    }
+
     @Test
     public void playerCallsReinforcementWithBoardAndReinforcementAmount() throws ScriptException, NoSuchMethodException {
         String script = "function " + REINFORCEMENT_JS_FUNCTION_NAME + "(board, soldiers) { return [{'col':1, 'row':2, 'amount':5}]; }";
         Player player = new JsPlayer(script, engine, parser, logger);
-        Map<String, Object> mapFromBoard = parser.createMapFromBoard(board);
+        JSObject boardView = parser.createBoardView(board);
 
         player.onReinforcement(board, 0);
 
-        verify(invocable).invokeFunction(REINFORCEMENT_JS_FUNCTION_NAME, mapFromBoard, 0);
+        verify(invocable).invokeFunction(REINFORCEMENT_JS_FUNCTION_NAME, boardView, 0);
     }
 
     @Test
     public void playerCallsAttackWithBoard() throws ScriptException, NoSuchMethodException {
         String script = "function " + ATTACK_JS_FUNCTION_NAME + "(board) { return [{'originCol':1, 'originRow':2, 'destCol':3, 'destRow':4, 'amount':5}]; }";
         Player player = new JsPlayer(script, engine, parser, logger);
-        Map<String, Object> mapFromBoard = parser.createMapFromBoard(board);
+        JSObject boardView = parser.createBoardView(board);
 
         player.onAttack(board);
-        verify(invocable).invokeFunction(ATTACK_JS_FUNCTION_NAME, mapFromBoard);
+        verify(invocable).invokeFunction(ATTACK_JS_FUNCTION_NAME, boardView);
     }
 
     @Test
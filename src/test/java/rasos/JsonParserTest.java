@@ -8,10 +8,13 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import javax.script.Invocable;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
@@ -23,10 +26,11 @@ public class JsonParserTest {
     private JsonParser parser;
     private ScriptObjectMirror json;
     private ObjectMapper mapper;
+    private ScriptEngine engine;
 
     @Before
     public void setUp() throws ScriptException {
-        ScriptEngine engine = new ScriptEngineManager().getEngineByName("JavaScript");
+        engine = new ScriptEngineManager().getEngineByName("JavaScript");
         json = (ScriptObjectMirror) engine.eval("JSON");
         parser = new JsonParser();
         mapper = new ObjectMapper();
@@ -69,6 +73,36 @@ public class JsonParserTest {
         assertEquals(new AttackMove(1, 2, 3, 4, 5), moves.iterator().next());
     }
 
+    @Test
+    public void extractMovesFromJSResultParsesFlatMoveArrays() {
+        JSObject reinforcements = (JSObject) json.callMember("parse", "[1, 2, 5, 3, 3, 1]");
+        JSObject attacks = (JSObject) json.callMember("parse", "[1, 2, 3, 4, 5]");
+
+        assertEquals(Arrays.asList(new ReinforcementMove(1, 2, 5), new ReinforcementMove(3, 3, 1)),
+                parser.extractMovesFromJSResult(reinforcements, ReinforcementMove[].class));
+        assertEquals(Collections.singletonList(new AttackMove(1, 2, 3, 4, 5)),
+                parser.extractMovesFromJSResult(attacks, AttackMove[].class));
+    }
+
+    @Test
+    public void throwsOnIncompleteFlatMoveArray() {
+        JSObject object = (JSObject) json.callMember("parse", "[1, 2, 5, 3]");
+
+        expectedException.expect(RuntimeException.class);
+
+        parser.extractMovesFromJSResult(object, ReinforcementMove[].class);
+    }
+
+    @Test
+    public void throwsOnNonNumericField() {
+        JSObject object = (JSObject) json.callMember("parse", "[{\"col\":1, \"row\":\"two\", \"amount\":5}]");
+
+        expectedException.expect(RuntimeException.class);
+        expectedException.expectMessage("row");
+
+        parser.extractMovesFromJSResult(object, ReinforcementMove[].class);
+    }
+
     @Test
     public void createJSONFromBoardWorks() throws IOException {
         String expectedBoardJson = "{\"configuration\":[[{\"controllingPlayerId\":1,\"numSoldiers\":5}," +
@@ -87,4 +121,31 @@ public class JsonParserTest {
 
         assertEquals(expectedBoardMap, actualBoardMap);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void boardViewExposesTheBoardToScripts() throws ScriptException, NoSuchMethodException {
+        Board board = new Board(2);
+        board.populateHomeBases(5, 1, 2);
+        board.cellAt(1, 2).setValues(1, 7);
+        engine.eval("function describe(board) {" +
+                "return [board.dim, board.owners.length, board.owners[1], board.soldiers[1], board.soldiers[3]," +
+                "board.configuration[1][1].controllingPlayerId, board.configuration[0][1].numSoldiers].join(); }");
+
+        Object description = ((Invocable) engine).invokeFunction("describe", parser.createBoardView(board));
+
+        assertEquals("2,4,1,7,5,2,7", description);
+    }
+
+    @Test
+    public void boardViewFollowsTheBoardAndIgnoresWrites() throws ScriptException, NoSuchMethodException {
+        Board board = new Board(2);
+        JSObject view = parser.createBoardView(board);
+        engine.eval("function overwrite(board) { board.owners[0] = 9; board.dim = 9; return board.owners[0] + board.dim; }");
+
+        board.cellAt(1, 1).setValues(1, 3);
+        Object result = ((Invocable) engine).invokeFunction("overwrite", view);
+
+        assertEquals(3, ((Number) result).intValue());
+        assertEquals(1, board.ownerAt(0));
+    }
+}
@@ -0,0 +1,53 @@
+package rasos;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void emptyHistogramReportsZeros() {
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount(), is(0L));
+        assertThat(snapshot.getMeanNanos(), is(0L));
+        assertThat(snapshot.getPercentileNanos(99), is(0L));
+    }
+
+    @Test
+    public void percentilesAreUpperBoundsWithinAFactorOfTwo() {
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1000);
+        }
+        histogram.record(1_000_000);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount(), is(100L));
+        assertThat(snapshot.getMeanNanos(), is((99 * 1000L + 1_000_000) / 100));
+        assertThat(snapshot.getPercentileNanos(50), is(1023L));
+        assertThat(snapshot.getPercentileNanos(99), is(1023L));
+        assertThat(snapshot.getPercentileNanos(100), is(1_000_000L));
+        assertThat(snapshot.getMaxNanos(), is(1_000_000L));
+    }
+
+    @Test
+    public void snapshotsDoNotChangeAfterwards() {
+        histogram.record(5);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        histogram.record(5);
+
+        assertThat(snapshot.getCount(), is(1L));
+    }
+}
@@ -0,0 +1,92 @@
+package rasos;
+
+import org.junit.Before;
+import org.junit.Test;
+import rasos.players.AttackPlayer;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static rasos.Config.ID_A;
+import static rasos.Config.ID_B;
+
+public class MetricsRiskLoggerTest {
+
+    private MetricsRiskLogger metrics;
+
+    @Before
+    public void setUp() {
+        metrics = new MetricsRiskLogger();
+    }
+
+    @Test
+    public void countsMovesRoundsAndGames() {
+        play();
+        play();
+
+        MetricsRiskLogger.Snapshot snapshot = metrics.snapshot();
+
+        assertThat(snapshot.getGames(), is(2L));
+        assertTrue(snapshot.getRounds() > 0);
+        assertTrue(snapshot.getSuccessfulReinforcements() > 0);
+        assertTrue(snapshot.getGamesPerSecond() > 0);
+        assertThat(snapshot.getReinforcerLatency().getCount(), is(2 * snapshot.getRounds()));
+        assertThat(snapshot.getAttackerLatency().getCount(), is(snapshot.getRounds()));
+    }
+
+    @Test
+    public void recordsPlayerCallsPerPlayerAndPhase() {
+        play();
+
+        MetricsRiskLogger.Snapshot snapshot = metrics.snapshot();
+
+        long rounds = snapshot.getRounds();
+        assertThat(snapshot.getPlayers().keySet().size(), is(2));
+        assertThat(snapshot.getPlayers().get(String.valueOf(ID_A)).getReinforcementLatency().getCount(), is(rounds));
+        assertThat(snapshot.getPlayers().get(String.valueOf(ID_B)).getAttackLatency().getCount(), is(rounds));
+        assertThat(snapshot.getTimeouts(), is(0L));
+    }
+
+    @Test
+    public void countsTimeoutsOfThePlayerThatTimedOut() {
+        metrics.logPlayerComputation(ID_B, "slow", RiskLogger.Phase.ATTACK, 500_000_000, true);
+        metrics.logPlayerComputation(ID_A, "fast", RiskLogger.Phase.ATTACK, 1000, false);
+
+        MetricsRiskLogger.Snapshot snapshot = metrics.snapshot();
+
+        assertThat(snapshot.getTimeouts(), is(1L));
+        assertThat(snapshot.getPlayers().get("slow").getTimeouts(), is(1L));
+        assertThat(snapshot.getPlayers().get("fast").getTimeouts(), is(0L));
+    }
+
+    @Test
+    public void keepsPlayerMetricsPerEntrantAcrossTheGamesOfATournament() {
+        List<Entrant> entrants = Arrays.asList(new Entrant("first", AttackPlayer::new),
+                new Entrant("second", AttackPlayer::new), new Entrant("third", AttackPlayer::new));
+        try (Tournament tournament = new Tournament(5, 20, 10, 1, () -> metrics)) {
+            tournament.playRoundRobin(entrants);
+        }
+
+        MetricsRiskLogger.Snapshot snapshot = metrics.snapshot();
+
+        assertThat(snapshot.getGames(), is(3L));
+        assertThat(snapshot.getPlayers().keySet(), is(new HashSet<>(Arrays.asList("first", "second", "third"))));
+        long reinforcements = snapshot.getPlayers().values().stream()
+                .mapToLong(player -> player.getReinforcementLatency().getCount())
+                .sum();
+        assertThat(reinforcements, is(2 * snapshot.getRounds()));
+    }
+
+    private void play() {
+        Player playerA = new AttackPlayer();
+        Player playerB = new AttackPlayer();
+        RoundHandler handler = new RoundHandler(ID_A, ID_B, playerA, playerB,
+                new Reinforcer(metrics), new Attacker(metrics), Executors.newFixedThreadPool(2), metrics);
+        new Game(5, 20, 10, playerA, ID_A, playerB, ID_B, handler, new GameEndChecker(ID_A, ID_B), metrics).start();
+    }
+}
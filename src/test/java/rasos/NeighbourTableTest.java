@@ -0,0 +1,49 @@
+package rasos;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class NeighbourTableTest {
+
+    private final Board board = new Board(4);
+    private final NeighbourTable table = NeighbourTable.forDim(4);
+
+    @Test
+    public void tablesAreSharedPerDimension() {
+        assertThat(NeighbourTable.forDim(4), sameInstance(table));
+    }
+
+    @Test
+    public void cornersEdgesAndInnerCellsHaveTheirNeighbourCounts() {
+        assertThat(table.neighbourCount(board.indexOf(1, 1)), is(3));
+        assertThat(table.neighbourCount(board.indexOf(4, 4)), is(3));
+        assertThat(table.neighbourCount(board.indexOf(1, 3)), is(5));
+        assertThat(table.neighbourCount(board.indexOf(2, 3)), is(8));
+    }
+
+    @Test
+    public void listsNeighboursByColumnAndThenByRow() {
+        int index = board.indexOf(1, 1);
+
+        assertThat(table.neighbourAt(index, 0), is(board.indexOf(1, 2)));
+        assertThat(table.neighbourAt(index, 1), is(board.indexOf(2, 1)));
+        assertThat(table.neighbourAt(index, 2), is(board.indexOf(2, 2)));
+    }
+
+    @Test
+    public void neighboursAreAdjacentIncludingDiagonallyButNotTheCellItself() {
+        int index = board.indexOf(2, 2);
+
+        assertTrue(table.areNeighbours(index, board.indexOf(3, 3)));
+        assertTrue(table.areNeighbours(index, board.indexOf(1, 2)));
+        assertFalse(table.areNeighbours(index, index));
+        assertFalse(table.areNeighbours(index, board.indexOf(4, 2)));
+        // adjacent indices in column-major order that wrap to the next column
+        assertFalse(table.areNeighbours(board.indexOf(1, 4), board.indexOf(2, 1)));
+    }
+}
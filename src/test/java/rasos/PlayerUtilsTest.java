@@ -53,4 +53,50 @@ public class PlayerUtilsTest {
         assertThat(neighbours, hasItem(is(new CellCoordinates(2, 2))));
         assertThat(neighbours, hasItem(is(new CellCoordinates(2, 1))));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void indexedNeighboursMatchGetNeighbours() {
+        PlayerUtils p = new PlayerUtils(mock(Player.class));
+        Board b = new Board(3);
+        int index = b.indexOf(1, 2);
+
+        List<CellCoordinates> neighbours = p.getNeighbours(b, new CellCoordinates(1, 2));
+
+        assertThat(p.getNeighbourCount(b, index), is(neighbours.size()));
+        for (int n = 0; n < neighbours.size(); n++) {
+            int neighbour = p.getNeighbour(b, index, n);
+            assertThat(new CellCoordinates(b.colOf(neighbour), b.rowOf(neighbour)), is(neighbours.get(n)));
+        }
+    }
+
+    @Test
+    public void packedNeighboursMatchGetNeighbours() {
+        PlayerUtils p = new PlayerUtils(mock(Player.class));
+        Board b = new Board(3);
+        CoordinateSet neighbours = new CoordinateSet();
+        neighbours.add(9, 9);
+
+        p.getNeighbours(b, CellCoordinates.pack(1, 1), neighbours);
+
+        assertThat(neighbours.size(), is(3));
+        for (CellCoordinates expected : p.getNeighbours(b, new CellCoordinates(1, 1))) {
+            assertThat(neighbours.contains(expected.pack()), is(true));
+        }
+    }
+
+    @Test
+    public void getControlledCellsIntoASet() {
+        Player p = mock(Player.class, CALLS_REAL_METHODS);
+        p.setPlayerId(1);
+        Board b = new Board(3);
+        b.cellAt(1, 1).setValues(1, 10);
+        b.cellAt(2, 3).setValues(1, 10);
+        b.cellAt(3, 3).setValues(2, 10);
+
+        CoordinateSet cells = new PlayerUtils(p).getControlledCells(b, new CoordinateSet());
+
+        assertThat(cells.size(), is(2));
+        assertThat(cells.contains(1, 1), is(true));
+        assertThat(cells.contains(2, 3), is(true));
+    }
+}
@@ -0,0 +1,146 @@
+package rasos;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import rasos.players.ReinforcePlayer;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+public class ProcessPlayerTest {
+
+    private Board board;
+    private ProcessPlayer player;
+
+    @Before
+    public void setUp() {
+        board = new Board(5);
+        board.populateHomeBases(10, Config.ID_A, Config.ID_B);
+        board.cellAt(2, 2).setValues(Config.ID_A, 3);
+    }
+
+    @After
+    public void tearDown() {
+        if (player != null) {
+            player.close();
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void movesComeFromTheBotInTheChildProcess() {
+        player = hostedPlayer(ReinforcePlayer.class, ProcessPlayer.DEFAULT_CALL_TIMEOUT_MILLIS);
+        player.start();
+        Player inProcess = new ReinforcePlayer();
+        inProcess.setPlayerId(Config.ID_A);
+
+        List<ReinforcementMove> moves = Lists.newArrayList(player.onReinforcement(board, 6));
+
+        assertThat(moves, is(Lists.newArrayList(inProcess.onReinforcement(board, 6))));
+    }
+
+    @Test(timeout = 20000)
+    public void sendsOnlyTheCellsThatChanged() {
+        player = hostedPlayer(MirrorCheckingPlayer.class, ProcessPlayer.DEFAULT_CALL_TIMEOUT_MILLIS);
+        player.start();
+
+        player.onAttack(board);
+        assertThat(player.getLastDeltaSize(), is(3));
+
+        board.cellAt(2, 2).setValues(Config.ID_B, 1);
+        board.cellAt(3, 3).setValues(Config.ID_A, 4);
+        List<AttackMove> moves = Lists.newArrayList(player.onAttack(board));
+
+        assertThat(player.getLastDeltaSize(), is(2));
+        // the bot echoes its mirror's soldier count, which must match the engine's board
+        assertThat(moves.get(0).getAmount(), is(board.getPlayerSoldierCount(Config.ID_A)));
+        assertThat(player.getStartCount(), is(1L));
+    }
+
+    @Test(timeout = 20000)
+    public void killsABotThatMissesItsDeadlineAndRestartsIt() {
+        player = hostedPlayer(SpinningAttackPlayer.class, 300);
+        player.start();
+
+        long start = System.nanoTime();
+        try {
+            player.onAttack(board);
+            fail("Expected the call to fail");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), is(ProcessPlayer.DEADLINE_ERROR));
+        }
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+
+        player.start();
+        assertThat(player.onReinforcement(board, 2).iterator().hasNext(), is(true));
+        assertThat(player.getStartCount(), is(2L));
+    }
+
+    @Test(timeout = 20000)
+    public void killsABotThatStopsReadingItsRequests() {
+        // greets with the protocol's magic number, then never reads stdin
+        player = new ProcessPlayer(Arrays.asList("sh", "-c", "printf raso; exec sleep 60"), 0, 300, mock(RiskLogger.class));
+        player.setPlayerId(Config.ID_A);
+        player.start();
+        // a full delta of this board doesn't fit in a pipe's buffer, so the write blocks
+        board = new Board(100);
+        for (int col = 1; col <= 100; col++) {
+            for (int row = 1; row <= 100; row++) {
+                board.cellAt(col, row).setValues(Config.ID_A, 1);
+            }
+        }
+
+        try {
+            player.onAttack(board);
+            fail("Expected the call to fail");
+        } catch (RuntimeException e) {
+            assertThat(e.getMessage(), is(ProcessPlayer.DEADLINE_ERROR));
+        }
+
+        player.start();
+        assertThat(player.getStartCount(), is(2L));
+    }
+
+    @Test
+    public void limitsMemoryThroughTheShell() {
+        player = new ProcessPlayer(Arrays.asList("bot", "--fast"), 65536, 100, mock(RiskLogger.class));
+
+        assertThat(player.getCommand(), is(Arrays.asList("sh", "-c", "ulimit -v 65536 && exec \"$0\" \"$@\"", "bot", "--fast")));
+    }
+
+    private ProcessPlayer hostedPlayer(Class<? extends Player> bot, long callTimeoutMillis) {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<String> command = Arrays.asList(java, "-Xmx32m", "-cp", System.getProperty("java.class.path"),
+                ProcessBotHost.class.getName(), bot.getName());
+        ProcessPlayer player = new ProcessPlayer(command, 0, callTimeoutMillis, mock(RiskLogger.class));
+        player.setPlayerId(Config.ID_A);
+        return player;
+    }
+
+    public static class MirrorCheckingPlayer extends Player {
+        @Override
+        public Iterable<ReinforcementMove> onReinforcement(BoardView board, int reinforcement) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Iterable<AttackMove> onAttack(BoardView board) {
+            return Collections.singletonList(new AttackMove(1, 1, 1, 1, board.getPlayerSoldierCount(getPlayerId())));
+        }
+    }
+
+    public static class SpinningAttackPlayer extends ReinforcePlayer {
+        @Override
+        public Iterable<AttackMove> onAttack(BoardView board) {
+            //noinspection InfiniteLoopStatement,StatementWithEmptyBody
+            while (true) ;
+        }
+    }
+}
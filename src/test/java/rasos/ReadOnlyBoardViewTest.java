@@ -0,0 +1,109 @@
+package rasos;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ReadOnlyBoardViewTest {
+
+    private Board board;
+    private BoardView view;
+
+    @Before
+    public void setUp() {
+        board = new Board(4);
+        board.cellAt(1, 1).setValues(1, 5);
+        board.cellAt(2, 3).setValues(1, 7);
+        board.cellAt(4, 4).setValues(2, 3);
+        view = new ReadOnlyBoardView(board);
+    }
+
+    @Test
+    public void readsTheBoardState() {
+        assertThat(view.getDim(), is(4));
+        assertThat(view.cellAt(2, 3).getNumSoldiers(), is(7));
+        assertThat(view.cellAt(4, 4).getControllingPlayerId(), is(2));
+        assertThat(view.ownerAt(view.indexOf(1, 1)), is(1));
+        assertThat(view.getPlayerCellCount(1), is(2));
+        assertThat(view.getPlayerSoldierCount(1), is(12));
+        assertThat(view.getControlledCoordinates(1), hasItems(new CellCoordinates(1, 1), new CellCoordinates(2, 3)));
+        assertThat(view.nextControlledCell(2, 0), is(board.indexOf(4, 4)));
+        assertThat(view.toString(), is(board.toString()));
+    }
+
+    @Test
+    public void cellsCantBeCastToMutableCells() {
+        assertThat(view.cellAt(1, 1), not(instanceOf(Cell.class)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnceTheBoardChanged() {
+        CellView cell = view.cellAt(1, 1);
+
+        board.cellAt(1, 1).setValues(1, 6);
+
+        cell.getNumSoldiers();
+    }
+
+    @Test
+    public void viewsCantBeCastToTheBoard() {
+        assertThat(view, not(instanceOf(Board.class)));
+    }
+
+    @Test(timeout = 5000)
+    public void playersOnlyGetViewsThatGoStaleOnceTheBoardChanges() {
+        CapturingPlayer playerA = new CapturingPlayer();
+        CapturingPlayer playerB = new CapturingPlayer();
+        RiskLogger logger = new SilentRiskLogger();
+        new RoundHandler(1, 2, playerA, playerB, new Reinforcer(logger), new Attacker(logger),
+                Executors.newSingleThreadExecutor(), logger).playOneRound(board);
+
+        board.cellAt(3, 3).setValues(2, 1);
+
+        List<BoardView> views = new ArrayList<>(playerA.views);
+        views.addAll(playerB.views);
+        assertThat(views.size(), is(4));
+        for (BoardView handedOut : views) {
+            assertThat(handedOut, not(instanceOf(Board.class)));
+            try {
+                handedOut.soldiersAt(0);
+                fail("Expected the view to be stale");
+            } catch (IllegalStateException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void freshViewsSeeTheChange() {
+        board.cellAt(1, 1).setValues(1, 6);
+
+        assertThat(new ReadOnlyBoardView(board).cellAt(1, 1).getNumSoldiers(), is(6));
+    }
+
+    private static class CapturingPlayer extends Player {
+        private final List<BoardView> views = new ArrayList<>();
+
+        @Override
+        public Iterable<ReinforcementMove> onReinforcement(BoardView board, int reinforcement) {
+            views.add(board);
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Iterable<AttackMove> onAttack(BoardView board) {
+            views.add(board);
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package rasos;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+public class RecyclingExecutorTest {
+
+    private RecyclingExecutor executor;
+    private AtomicBoolean release;
+
+    @Before
+    public void setUp() {
+        executor = new RecyclingExecutor(1);
+        release = new AtomicBoolean(false);
+    }
+
+    @After
+    public void tearDown() {
+        release.set(true);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void runsTasks() throws InterruptedException, ExecutionException, TimeoutException {
+        assertThat(executor.submit(() -> 7).get(1, TimeUnit.SECONDS), is(7));
+    }
+
+    @Test(timeout = 2000)
+    public void cancellingAStuckTaskFreesThePoolForQueuedTasks() throws InterruptedException, ExecutionException, TimeoutException {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<?> stuck = executor.submit(() -> {
+            started.countDown();
+            //noinspection StatementWithEmptyBody
+            while (!release.get()) ;
+        });
+        Future<Integer> queued = executor.submit(() -> 42);
+        started.await();
+
+        stuck.cancel(true);
+
+        assertThat(queued.get(1, TimeUnit.SECONDS), is(42));
+        assertThat(executor.getReplacedWorkerCount(), is(1L));
+    }
+
+    @Test(timeout = 2000)
+    public void cancellingInterruptsTheRunningTask() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Future<?> sleeping = executor.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        started.await();
+
+        sleeping.cancel(true);
+
+        assertTrue("Task should have been interrupted", interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancellingAQueuedTaskKeepsTheWorker() {
+        Future<?> blocker = executor.submit(() -> {
+            //noinspection StatementWithEmptyBody
+            while (!release.get()) ;
+        });
+        Future<?> queued = executor.submit(() -> {
+        });
+
+        queued.cancel(true);
+
+        assertThat(executor.getReplacedWorkerCount(), is(0L));
+        assertFalse(blocker.isDone());
+    }
+
+    @Test(timeout = 2000)
+    public void terminatesAfterShutdown() throws InterruptedException {
+        executor.submit(() -> {
+        });
+
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+    }
+}
@@ -0,0 +1,126 @@
+package rasos;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import rasos.players.AttackPlayer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static rasos.Config.ID_A;
+import static rasos.Config.ID_B;
+
+public class ReplayArchiveTest {
+
+    private static final int DIM = 5;
+    private static final int SOLDIERS = 20;
+    private static final int ROUNDS = 20;
+    private static final int GAMES = 5;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+    private List<List<Board>> games;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.newFolder("archive").toPath();
+        games = new ArrayList<>();
+    }
+
+    @Test
+    public void readsAnyRoundOfAnyGame() {
+        try (ReplayArchive archive = new ReplayArchive(directory)) {
+            for (int game = 0; game < GAMES; game++) {
+                play(archive);
+            }
+
+            assertThat(archive.getGameCount(), is(GAMES));
+            assertArchiveMatchesTheGames(archive);
+        }
+    }
+
+    @Test
+    public void spreadsGamesOverSegmentsAndReadsThemAfterReopening() {
+        try (ReplayArchive archive = new ReplayArchive(directory, 256)) {
+            for (int game = 0; game < GAMES; game++) {
+                play(archive);
+            }
+        }
+
+        File[] segments = directory.toFile().listFiles((dir, name) -> name.startsWith("segment-"));
+        assertTrue(segments.length > 1);
+        try (ReplayArchive archive = new ReplayArchive(directory, 256)) {
+            assertThat(archive.getGameCount(), is(GAMES));
+            assertArchiveMatchesTheGames(archive);
+        }
+    }
+
+    @Test
+    public void appendsToAReopenedArchive() {
+        try (ReplayArchive archive = new ReplayArchive(directory)) {
+            play(archive);
+        }
+        try (ReplayArchive archive = new ReplayArchive(directory)) {
+            assertThat(archive.getGameCount(), is(1));
+            assertArchiveMatchesTheGames(archive);
+            assertThat(play(archive), is(1));
+            assertArchiveMatchesTheGames(archive);
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsGamesThatWereNotAppended() {
+        try (ReplayArchive archive = new ReplayArchive(directory)) {
+            play(archive);
+            archive.getGame(1);
+        }
+    }
+
+    private void assertArchiveMatchesTheGames(ReplayArchive archive) {
+        // newest first, so earlier games are reached without reading through the later ones
+        for (int game = games.size() - 1; game >= 0; game--) {
+            List<Board> boards = games.get(game);
+            assertThat(archive.getGame(game).getRoundCount(), is(boards.size() - 1));
+            for (int round = 0; round < boards.size(); round++) {
+                assertThat("game " + game + " round " + round,
+                        archive.getBoardAfterRound(game, round).toString(), is(boards.get(round).toString()));
+            }
+        }
+    }
+
+    private int play(ReplayArchive archive) {
+        List<Board> boards = new ArrayList<>();
+        Board initial = new Board(DIM);
+        initial.populateHomeBases(SOLDIERS, ID_A, ID_B);
+        boards.add(initial);
+        games.add(boards);
+        int[] appended = {-1};
+        RiskLogger logger = new ReplayRiskLogger(replay -> appended[0] = archive.append(replay),
+                DIM, SOLDIERS, ID_A, ID_B, 0, 4) {
+            @Override
+            public void logRoundEnd(Board board) {
+                super.logRoundEnd(board);
+                boards.add(board.copy());
+            }
+        };
+
+        Player playerA = new AttackPlayer();
+        Player playerB = new AttackPlayer();
+        RoundHandler handler = new RoundHandler(ID_A, ID_B, playerA, playerB,
+                new Reinforcer(logger), new Attacker(logger), Executors.newSingleThreadExecutor(), logger);
+        new Game(DIM, SOLDIERS, ROUNDS, playerA, ID_A, playerB, ID_B, handler, new GameEndChecker(ID_A, ID_B), logger)
+                .start();
+        return appended[0];
+    }
+}
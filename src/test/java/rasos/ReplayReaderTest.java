@@ -0,0 +1,136 @@
+package rasos;
+
+import org.junit.Before;
+import org.junit.Test;
+import rasos.players.AttackPlayer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static rasos.Config.ID_A;
+import static rasos.Config.ID_B;
+
+public class ReplayReaderTest {
+
+    private static final int DIM = 6;
+    private static final int SOLDIERS = 20;
+    private static final int ROUNDS = 30;
+
+    private ByteArrayOutputStream out;
+    private List<Board> boards;
+
+    @Before
+    public void setUp() {
+        out = new ByteArrayOutputStream();
+        boards = new ArrayList<>();
+        RecordingReplayRiskLogger logger = new RecordingReplayRiskLogger();
+        boards.add(initialBoard());
+
+        Player playerA = new AttackPlayer();
+        Player playerB = new AttackPlayer();
+        RoundHandler handler = new RoundHandler(ID_A, ID_B, playerA, playerB,
+                new Reinforcer(logger), new Attacker(logger), Executors.newSingleThreadExecutor(), logger);
+        new Game(DIM, SOLDIERS, ROUNDS, playerA, ID_A, playerB, ID_B, handler, new GameEndChecker(ID_A, ID_B), logger)
+                .start();
+    }
+
+    @Test
+    public void rebuildsTheBoardOfEveryRound() {
+        ReplayReader reader = new ReplayReader(ByteBuffer.wrap(out.toByteArray()));
+
+        assertThat(reader.getDim(), is(DIM));
+        assertThat(reader.getSoldiers(), is(SOLDIERS));
+        assertThat(reader.getSeed(), is(42L));
+        assertThat(reader.getRoundCount(), is(boards.size() - 1));
+        for (int round = 0; round <= reader.getRoundCount(); round++) {
+            assertThat("round " + round, reader.getBoardAfterRound(round).toString(), is(boards.get(round).toString()));
+        }
+    }
+
+    @Test
+    public void readsAReplayOutOfALargerBuffer() {
+        byte[] replay = out.toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocate(replay.length + 10);
+        buffer.position(5);
+        buffer.put(replay);
+        buffer.position(5).limit(5 + replay.length);
+
+        ReplayReader reader = new ReplayReader(buffer);
+
+        int last = reader.getRoundCount();
+        assertThat(reader.getBoardAfterRound(last).toString(), is(boards.get(last).toString()));
+    }
+
+    @Test
+    public void replayIsSmallerThanTheTextLog() {
+        int textSize = 0;
+        for (Board board : boards) {
+            textSize += board.toString().length();
+        }
+
+        assertTrue(out.size() < textSize);
+    }
+
+    @Test
+    public void replaysNegativeReinforcementsWithoutRunningOutOfQuota() {
+        out.reset();
+        Board board = initialBoard();
+        int index = homeBaseOf(board, ID_A);
+        int col = index / DIM + 1;
+        int row = index % DIM + 1;
+        ReplayRiskLogger logger = new ReplayRiskLogger(out, DIM, SOLDIERS, ID_A, ID_B, 42L, 0);
+        logger.logGameStart();
+        logger.logRoundStart();
+        logger.logSuccessfulReinforcement(ID_A, new ReinforcementMove(col, row, -5));
+        logger.logSuccessfulReinforcement(ID_A, new ReinforcementMove(col, row, 3));
+        logger.logRoundEnd(board);
+        logger.logGameEnd(0);
+
+        Board replayed = new ReplayReader(ByteBuffer.wrap(out.toByteArray())).getBoardAfterRound(1);
+
+        assertThat(replayed.soldiersAt(index), is(SOLDIERS - 2));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void rejectsDataThatIsNotAReplay() {
+        new ReplayReader(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9}));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsRoundsThatWereNotPlayed() {
+        new ReplayReader(ByteBuffer.wrap(out.toByteArray())).getBoardAfterRound(boards.size());
+    }
+
+    private Board initialBoard() {
+        Board board = new Board(DIM);
+        board.populateHomeBases(SOLDIERS, ID_A, ID_B);
+        return board;
+    }
+
+    private static int homeBaseOf(Board board, int playerId) {
+        for (int index = 0; index < DIM * DIM; index++) {
+            if (board.ownerAt(index) == playerId) {
+                return index;
+            }
+        }
+        throw new AssertionError("no home base for " + playerId);
+    }
+
+    private class RecordingReplayRiskLogger extends ReplayRiskLogger {
+        RecordingReplayRiskLogger() {
+            super(out, DIM, SOLDIERS, ID_A, ID_B, 42L, 4);
+        }
+
+        @Override
+        public void logRoundEnd(Board board) {
+            super.logRoundEnd(board);
+            boards.add(board.copy());
+        }
+    }
+}
@@ -2,11 +2,20 @@ package rasos;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
+import rasos.players.AttackPlayer;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
@@ -42,8 +51,27 @@ public class RoundHandlerTest {
     public void callsPlayerOnReinforcementWithGameBoard() {
         roundHandler.playOneRound(board);
 
-        verify(playerA).onReinforcement(eq(board), any(int.class));
-        verify(playerB).onReinforcement(eq(board), any(int.class));
+        verify(playerA).onReinforcement(any(BoardView.class), any(int.class));
+        verify(playerB).onReinforcement(any(BoardView.class), any(int.class));
+    }
+
+    @Test
+    public void handsPlayersReadOnlyViewsOfTheBoard() {
+        makePlayerAControlTotalOf_3_Cells();
+        ArgumentCaptor<BoardView> reinforcementView = ArgumentCaptor.forClass(BoardView.class);
+        ArgumentCaptor<BoardView> attackView = ArgumentCaptor.forClass(BoardView.class);
+        AtomicInteger seenCellCount = new AtomicInteger();
+        when(playerA.onReinforcement(reinforcementView.capture(), anyInt())).then(invocation -> {
+            seenCellCount.set(reinforcementView.getValue().getPlayerCellCount(ID_A));
+            return Collections.emptyList();
+        });
+
+        roundHandler.playOneRound(board);
+
+        verify(playerA).onAttack(attackView.capture());
+        assertThat(seenCellCount.get(), is(3));
+        assertThat(reinforcementView.getValue(), not(instanceOf(Board.class)));
+        assertThat(attackView.getValue(), not(instanceOf(Board.class)));
     }
 
     @Test
@@ -53,11 +81,11 @@ public class RoundHandlerTest {
 
         roundHandler.playOneRound(board);
 
-        verify(playerA).onReinforcement(any(Board.class), eq(3));
-        verify(playerB).onReinforcement(any(Board.class), eq(2));
+        verify(playerA).onReinforcement(any(BoardView.class), eq(3));
+        verify(playerB).onReinforcement(any(BoardView.class), eq(2));
     }
 
-    @Test(timeout = 100)
+    @Test(timeout = 5000)
     public void preventTooLongReinforcementComputation() throws InterruptedException, ExecutionException, TimeoutException {
         executor = stubExecutorWithImmediateThrowingFuture();
         playerB = stubPlayerWithInfiniteLoopOnReinforcement();
@@ -77,7 +105,7 @@ public class RoundHandlerTest {
 
     @Test
     public void whenPlayerThrowsInOnReinforcementUseEmptyListInstead() {
-        when(playerA.onReinforcement(any(Board.class), any(int.class)))
+        when(playerA.onReinforcement(any(BoardView.class), any(int.class)))
                 .thenThrow(new RuntimeException("Bukchin is a shitty programmer"));
 
         try {
@@ -93,8 +121,8 @@ public class RoundHandlerTest {
     public void callsReinforcerWithReinforcementMoves() {
         Iterable<ReinforcementMove> movesA = mock(Iterable.class);
         Iterable<ReinforcementMove> movesB = mock(Iterable.class);
-        when(playerA.onReinforcement(any(Board.class), any(int.class))).thenReturn(movesA);
-        when(playerB.onReinforcement(any(Board.class), any(int.class))).thenReturn(movesB);
+        when(playerA.onReinforcement(any(BoardView.class), any(int.class))).thenReturn(movesA);
+        when(playerB.onReinforcement(any(BoardView.class), any(int.class))).thenReturn(movesB);
 
         makePlayerAControlTotalOf_3_Cells();
         makePlayerBControlTotalOf_2_Cells();
@@ -109,11 +137,11 @@ public class RoundHandlerTest {
     public void callsPlayerOnAttackWithGameBoard() {
         roundHandler.playOneRound(board);
 
-        verify(playerA).onAttack(board);
-        verify(playerB).onAttack(board);
+        verify(playerA).onAttack(any(BoardView.class));
+        verify(playerB).onAttack(any(BoardView.class));
     }
 
-    @Test(timeout = 100)
+    @Test(timeout = 5000)
     public void preventTooLongAttackComputation() throws InterruptedException, ExecutionException, TimeoutException {
         executor = stubExecutorWithImmediateThrowingFuture();
         playerB = stubPlayerWithInfiniteLoopOnAttack();
@@ -125,6 +153,17 @@ public class RoundHandlerTest {
         verify(attacker).apply(any(Board.class), any(), any(), anyInt(), anyInt());
     }
 
+    @Test(timeout = 5000)
+    public void cancelsTimedOutComputations() throws InterruptedException, ExecutionException, TimeoutException {
+        executor = stubExecutorWithImmediateThrowingFuture();
+        roundHandler = getRoundHandler();
+
+        roundHandler.playOneRound(board);
+
+        Future future = executor.submit(mock(Runnable.class));
+        verify(future, times(4)).cancel(true);
+    }
+
     @Test
     public void whenPlayerReturnsNullInOnAttackUseEmptyListInstead() {
         roundHandler.playOneRound(board);
@@ -134,8 +173,8 @@ public class RoundHandlerTest {
 
     @Test
     public void whenPlayerThrowsInOnAttackUseEmptyListInstead() {
-        when(playerA.onAttack(any(Board.class))).thenReturn(Collections.emptyList());
-        when(playerB.onAttack(any(Board.class))).thenThrow(new RuntimeException("Weiss is a shitty programmer"));
+        when(playerA.onAttack(any(BoardView.class))).thenReturn(Collections.emptyList());
+        when(playerB.onAttack(any(BoardView.class))).thenThrow(new RuntimeException("Weiss is a shitty programmer"));
 
         try {
             roundHandler.playOneRound(board);
@@ -150,14 +189,105 @@ public class RoundHandlerTest {
     public void callsAttackerWithAttackMovesAndIds() {
         Iterable<AttackMove> movesA = mock(Iterable.class);
         Iterable<AttackMove> movesB = mock(Iterable.class);
-        when(playerA.onAttack(any(Board.class))).thenReturn(movesA);
-        when(playerB.onAttack(any(Board.class))).thenReturn(movesB);
+        when(playerA.onAttack(any(BoardView.class))).thenReturn(movesA);
+        when(playerB.onAttack(any(BoardView.class))).thenReturn(movesB);
+
+        roundHandler.playOneRound(board);
+
+        verify(attacker).apply(board, movesA, movesB, ID_A, ID_B);
+    }
+
+    @Test(timeout = 2000)
+    public void playersComputeAttacksConcurrently() {
+        CountDownLatch bothPlayersStarted = new CountDownLatch(2);
+        Iterable<AttackMove> movesA = Collections.singleton(new AttackMove(1, 1, 1, 2, 1));
+        Iterable<AttackMove> movesB = Collections.singleton(new AttackMove(7, 7, 7, 6, 1));
+        when(playerA.onAttack(any(BoardView.class))).then(invocation -> awaitBoth(bothPlayersStarted, movesA));
+        when(playerB.onAttack(any(BoardView.class))).then(invocation -> awaitBoth(bothPlayersStarted, movesB));
+        executor = Executors.newFixedThreadPool(2);
+        roundHandler = getRoundHandler();
+
+        roundHandler.playOneRound(board);
+
+        verify(attacker).apply(board, movesA, movesB, ID_A, ID_B);
+    }
+
+    @Test(timeout = 5000)
+    public void aSlowPlayerDoesNotShortenTheWindowOfTheCallQueuedBehindIt() {
+        Iterable<AttackMove> movesA = Collections.singleton(new AttackMove(1, 1, 1, 2, 1));
+        Iterable<AttackMove> movesB = Collections.singleton(new AttackMove(7, 7, 7, 6, 1));
+        when(playerA.onAttack(any(BoardView.class))).then(invocation -> sleepAndReturn(400, movesA));
+        when(playerB.onAttack(any(BoardView.class))).then(invocation -> sleepAndReturn(300, movesB));
 
         roundHandler.playOneRound(board);
 
         verify(attacker).apply(board, movesA, movesB, ID_A, ID_B);
     }
 
+    @Test(timeout = 5000)
+    public void aTimedOutPlayerDoesNotMakeItsOpponentForfeit() {
+        Iterable<AttackMove> movesB = Collections.singleton(new AttackMove(7, 7, 7, 6, 1));
+        when(playerA.onAttack(any(BoardView.class))).then(invocation -> sleepAndReturn(10_000, null));
+        when(playerB.onAttack(any(BoardView.class))).thenReturn(movesB);
+
+        roundHandler.playOneRound(board);
+
+        verify(attacker).apply(board, Collections.emptyList(), movesB, ID_A, ID_B);
+    }
+
+    @Test
+    public void simultaneousReinforcementComputesBothPlayersBeforeApplying() {
+        roundHandler = new RoundHandler(ID_A, ID_B, playerA, playerB, reinforcer, attacker, executor, logger, true);
+        makePlayerAControlTotalOf_3_Cells();
+        makePlayerBControlTotalOf_2_Cells();
+        InOrder inOrder = inOrder(playerA, playerB, reinforcer);
+
+        roundHandler.playOneRound(board);
+
+        inOrder.verify(playerA).onReinforcement(any(BoardView.class), eq(3));
+        inOrder.verify(playerB).onReinforcement(any(BoardView.class), eq(2));
+        inOrder.verify(reinforcer).apply(board, ID_A, Collections.emptyList(), 3);
+        inOrder.verify(reinforcer).apply(board, ID_B, Collections.emptyList(), 2);
+    }
+
+    @Test(timeout = 5000)
+    public void deltaPlayersKeepAnExactMirrorOfTheBoard() {
+        MirrorPlayer mirrorA = new MirrorPlayer();
+        MirrorPlayer mirrorB = new MirrorPlayer();
+        ((Player) mirrorA).setPlayerId(ID_A);
+        ((Player) mirrorB).setPlayerId(ID_B);
+        RiskLogger silent = new SilentRiskLogger();
+        roundHandler = new RoundHandler(ID_A, ID_B, mirrorA, mirrorB, new Reinforcer(silent), new Attacker(silent), executor, silent);
+        board.populateHomeBases(20, ID_A, ID_B);
+
+        for (int round = 0; round < 20; round++) {
+            roundHandler.playOneRound(board);
+        }
+
+        assertThat(mirrorA.mismatches, is(0));
+        assertThat(mirrorB.mismatches, is(0));
+        assertThat(mirrorA.fullSnapshots, is(1));
+        // the first incremental delta only holds both home bases, reinforced before the first attack
+        assertThat(mirrorA.deltaSizes.get(0), is(2));
+    }
+
+    @Test(timeout = 5000)
+    public void endingTheGameDetachesTheDeltaPlayersJournals() {
+        MirrorPlayer mirrorA = new MirrorPlayer();
+        MirrorPlayer mirrorB = new MirrorPlayer();
+        ((Player) mirrorA).setPlayerId(ID_A);
+        ((Player) mirrorB).setPlayerId(ID_B);
+        RiskLogger silent = new SilentRiskLogger();
+        roundHandler = new RoundHandler(ID_A, ID_B, mirrorA, mirrorB, new Reinforcer(silent), new Attacker(silent), executor, silent);
+        board = spy(new Board(7));
+        board.populateHomeBases(20, ID_A, ID_B);
+        roundHandler.playOneRound(board);
+
+        roundHandler.endGame();
+
+        verify(board, times(2)).detachJournal(any(BoardChangeJournal.class));
+    }
+
     @Test
     public void reinforcementHappensBeforeAttack() {
         InOrder inOrder = inOrder(reinforcer, attacker);
@@ -188,10 +318,43 @@ public class RoundHandlerTest {
         inOrder.verify(logger).logRoundEnd(board);
     }
 
+    @Test
+    public void loggerTimesPlayerCallsAndMoveResolution() {
+        roundHandler.playOneRound(board);
+
+        verify(logger).logPlayerComputation(eq(ID_A), any(), eq(RiskLogger.Phase.REINFORCEMENT), anyLong(), eq(false));
+        verify(logger).logPlayerComputation(eq(ID_B), any(), eq(RiskLogger.Phase.REINFORCEMENT), anyLong(), eq(false));
+        verify(logger).logPlayerComputation(eq(ID_A), any(), eq(RiskLogger.Phase.ATTACK), anyLong(), eq(false));
+        verify(logger).logPlayerComputation(eq(ID_B), any(), eq(RiskLogger.Phase.ATTACK), anyLong(), eq(false));
+        verify(logger, times(2)).logMoveResolution(eq(RiskLogger.Phase.REINFORCEMENT), anyLong());
+        verify(logger).logMoveResolution(eq(RiskLogger.Phase.ATTACK), anyLong());
+    }
+
+    @Test(timeout = 5000)
+    public void loggerMarksTimedOutPlayerCalls() throws InterruptedException, ExecutionException, TimeoutException {
+        executor = stubExecutorWithImmediateThrowingFuture();
+        roundHandler = getRoundHandler();
+
+        roundHandler.playOneRound(board);
+
+        verify(logger, times(2)).logPlayerComputation(eq(ID_A), any(), any(RiskLogger.Phase.class), anyLong(), eq(true));
+    }
+
     private RoundHandler getRoundHandler() {
         return new RoundHandler(ID_A, ID_B, playerA, playerB, reinforcer, attacker, executor, logger);
     }
 
+    private static <T> T sleepAndReturn(long millis, T result) throws InterruptedException {
+        Thread.sleep(millis);
+        return result;
+    }
+
+    private static <T> T awaitBoth(CountDownLatch bothPlayersStarted, T result) throws InterruptedException {
+        bothPlayersStarted.countDown();
+        bothPlayersStarted.await();
+        return result;
+    }
+
     private void makePlayerAControlTotalOf_3_Cells() {
         board.cellAt(1, 1).setValues(ID_A, 4);
         board.cellAt(1, 3).setValues(ID_A, 4);
@@ -214,7 +377,7 @@ public class RoundHandlerTest {
 
     private Player stubPlayerWithInfiniteLoopOnReinforcement() {
         Player player = mock(Player.class);
-        when(player.onReinforcement(any(Board.class), anyInt())).then(invocation -> {
+        when(player.onReinforcement(any(BoardView.class), anyInt())).then(invocation -> {
             //noinspection InfiniteLoopStatement,StatementWithEmptyBody
             while (true) ;
         });
@@ -223,10 +386,58 @@ public class RoundHandlerTest {
 
     private Player stubPlayerWithInfiniteLoopOnAttack() {
         Player player = mock(Player.class);
-        when(player.onAttack(any(Board.class))).then(invocation -> {
+        when(player.onAttack(any(BoardView.class))).then(invocation -> {
             //noinspection InfiniteLoopStatement,StatementWithEmptyBody
             while (true) ;
         });
         return player;
     }
+
+    private static class MirrorPlayer extends AttackPlayer {
+        private int[] owners;
+        private int[] soldiers;
+        private int mismatches;
+        private int fullSnapshots;
+        private List<Integer> deltaSizes = new ArrayList<>();
+
+        @Override
+        public boolean wantsBoardDeltas() {
+            return true;
+        }
+
+        @Override
+        public void onBoardDelta(BoardDelta delta) {
+            if (delta.isFullSnapshot()) {
+                owners = new int[delta.getDim() * delta.getDim()];
+                soldiers = new int[owners.length];
+                fullSnapshots++;
+            } else {
+                deltaSizes.add(delta.size());
+            }
+            for (int i = 0; i < delta.size(); i++) {
+                owners[delta.getIndex(i)] = delta.getOwner(i);
+                soldiers[delta.getIndex(i)] = delta.getSoldiers(i);
+            }
+        }
+
+        @Override
+        public Iterable<ReinforcementMove> onReinforcement(BoardView board, int reinforcement) {
+            compare(board);
+            return super.onReinforcement(board, reinforcement);
+        }
+
+        @Override
+        public Iterable<AttackMove> onAttack(BoardView board) {
+            compare(board);
+            return super.onAttack(board);
+        }
+
+        private void compare(BoardView board) {
+            for (int index = 0; index < owners.length; index++) {
+                if (owners[index] != board.ownerAt(index) || soldiers[index] != board.soldiersAt(index)) {
+                    mismatches++;
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,62 @@
+package rasos;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StalemateDetectorTest {
+
+    private Board board;
+    private StalemateDetector detector;
+
+    @Before
+    public void setUp() {
+        board = new Board(3);
+        board.populateHomeBases(5, 1, 2);
+        detector = new StalemateDetector(3);
+    }
+
+    @Test
+    public void detectsARepeatedState() {
+        assertFalse(detector.isStalled(board));
+        board.cellAt(2, 2).setValues(1, 2);
+        assertFalse(detector.isStalled(board));
+        board.cellAt(2, 2).makeNeutral();
+
+        assertTrue(detector.isStalled(board));
+    }
+
+    @Test
+    public void forgetsStatesOutsideOfTheWindow() {
+        assertFalse(detector.isStalled(board));
+        for (int soldiers = 1; soldiers <= 3; soldiers++) {
+            board.cellAt(2, 2).setValues(soldiers % 2 + 1, soldiers);
+            assertFalse(detector.isStalled(board));
+        }
+        board.cellAt(2, 2).makeNeutral();
+
+        assertFalse(detector.isStalled(board));
+    }
+
+    @Test
+    public void detectsUnchangedTerritoryDespiteGrowingArmies() {
+        assertFalse(detector.isStalled(board));
+        for (int round = 1; round <= 2; round++) {
+            board.cellAt(1, 1).updateNumSoldiers(5 + round);
+            assertFalse(detector.isStalled(board));
+        }
+        board.cellAt(1, 1).updateNumSoldiers(8);
+
+        assertTrue(detector.isStalled(board));
+    }
+
+    @Test
+    public void disabledWithoutAWindow() {
+        detector = new StalemateDetector(0);
+
+        assertFalse(detector.isStalled(board));
+        assertFalse(detector.isStalled(board));
+    }
+}
@@ -0,0 +1,137 @@
+package rasos;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import rasos.players.AttackPlayer;
+import rasos.players.ReinforcePlayer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static rasos.Config.ID_A;
+import static rasos.Config.ID_B;
+
+public class TournamentTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Tournament tournament;
+    private Entrant attacker1;
+    private Entrant attacker2;
+    private Entrant reinforcer1;
+    private Entrant reinforcer2;
+    private Entrant reinforcer3;
+
+    @Before
+    public void setUp() {
+        tournament = new Tournament(5, 20, 10, 4, SilentRiskLogger::new);
+        attacker1 = new Entrant("attacker1", AttackPlayer::new);
+        attacker2 = new Entrant("attacker2", AttackPlayer::new);
+        reinforcer1 = new Entrant("reinforcer1", ReinforcePlayer::new);
+        reinforcer2 = new Entrant("reinforcer2", ReinforcePlayer::new);
+        reinforcer3 = new Entrant("reinforcer3", ReinforcePlayer::new);
+    }
+
+    @After
+    public void tearDown() {
+        tournament.close();
+    }
+
+    @Test
+    public void roundRobinPairsEveryEntrantOnce() {
+        List<Tournament.Pairing> pairings = tournament.getRoundRobinPairings(Lists.newArrayList(attacker1, attacker2, reinforcer1, reinforcer2));
+
+        Set<Set<Entrant>> matchups = new HashSet<>();
+        for (Tournament.Pairing pairing : pairings) {
+            matchups.add(new HashSet<>(Lists.newArrayList(pairing.getA(), pairing.getB())));
+        }
+        assertThat(pairings.size(), is(6));
+        assertThat(matchups.size(), is(6));
+    }
+
+    @Test
+    public void roundRobinPlaysAllGamesAndRanksEntrants() {
+        Leaderboard leaderboard = tournament.playRoundRobin(Lists.newArrayList(attacker1, reinforcer1, reinforcer2));
+
+        assertThat(tournament.getGamesPlayed(), is(3L));
+        for (Leaderboard.Standing standing : leaderboard.getStandings()) {
+            assertThat(standing.getGamesPlayed(), is(2L));
+        }
+        List<Leaderboard.Standing> standings = leaderboard.getStandings();
+        assertTrue(standings.get(0).getScore() >= standings.get(1).getScore());
+        assertTrue(standings.get(1).getScore() >= standings.get(2).getScore());
+    }
+
+    @Test
+    public void swissAvoidsRematchesAndGivesOneByePerRound() {
+        List<Entrant> entrants = Lists.newArrayList(attacker1, attacker2, reinforcer1, reinforcer2, reinforcer3);
+        Leaderboard leaderboard = new Leaderboard();
+        entrants.forEach(leaderboard::register);
+        Map<Entrant, Set<Entrant>> opponents = new HashMap<>();
+
+        List<Tournament.Pairing> first = tournament.getSwissPairings(entrants, leaderboard, opponents, 0);
+        List<Tournament.Pairing> second = tournament.getSwissPairings(entrants, leaderboard, opponents, 1);
+
+        assertThat(first.size(), is(2));
+        assertThat(second.size(), is(2));
+        for (Tournament.Pairing pairing : second) {
+            assertThat(first.stream().anyMatch(p -> isSameMatchup(p, pairing)), is(false));
+        }
+        long byes = entrants.stream().mapToLong(leaderboard::getByes).sum();
+        assertThat(byes, is(2L));
+        assertThat(entrants.stream().filter(e -> leaderboard.getByes(e) > 1).count(), is(0L));
+    }
+
+    @Test
+    public void swissPlaysRequestedRounds() {
+        Leaderboard leaderboard = tournament.playSwiss(Lists.newArrayList(attacker1, attacker2, reinforcer1, reinforcer2), 3);
+
+        assertThat(tournament.getGamesPlayed(), is(6L));
+        assertThat(leaderboard.getStandings().get(0).getEntrant(), not(is((Entrant) null)));
+    }
+
+    @Test
+    public void gamesCanBeReplayedFromTheSeedTheirReplayRecorded() throws IOException {
+        try (ReplayArchive archive = new ReplayArchive(folder.newFolder().toPath());
+             Tournament seeded = new Tournament(5, 20, 10, 2, 7L, seed -> archive.newLogger(5, 20, ID_A, ID_B, seed))) {
+            seeded.playRoundRobin(Lists.newArrayList(attacker1, attacker2, new Entrant("attacker3", AttackPlayer::new)));
+
+            assertThat(archive.getGameCount(), is(3));
+            for (int game = 0; game < archive.getGameCount(); game++) {
+                ReplayReader replay = archive.getGame(game);
+                Board replayed = replay.getBoardAfterRound(replay.getRoundCount());
+
+                assertThat(playAgain(replay.getSeed()).toString(), is(replayed.toString()));
+            }
+        }
+    }
+
+    private Board playAgain(long seed) {
+        RiskLogger logger = new SilentRiskLogger();
+        Player playerA = new AttackPlayer();
+        Player playerB = new AttackPlayer();
+        RoundHandler handler = new RoundHandler(ID_A, ID_B, playerA, playerB,
+                new Reinforcer(logger), new Attacker(logger), Executors.newFixedThreadPool(2), logger);
+        Game game = new Game(5, 20, 10, playerA, ID_A, playerB, ID_B, handler, new GameEndChecker(ID_A, ID_B), logger, 0, seed);
+        game.start();
+        return game.getBoard();
+    }
+
+    private boolean isSameMatchup(Tournament.Pairing a, Tournament.Pairing b) {
+        return (a.getA() == b.getA() && a.getB() == b.getB()) || (a.getA() == b.getB() && a.getB() == b.getA());
+    }
+}